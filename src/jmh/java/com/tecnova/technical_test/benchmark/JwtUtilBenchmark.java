@@ -0,0 +1,71 @@
+package com.tecnova.technical_test.benchmark;
+
+import com.tecnova.technical_test.infrastructure.adapter.config.JwtProperties;
+import com.tecnova.technical_test.infrastructure.adapter.config.jwt.AppUserDetails;
+import com.tecnova.technical_test.infrastructure.adapter.config.jwt.JwtUtil;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtUtilBenchmark {
+
+    private JwtUtil jwtUtil;
+    private JwtUtil jwtUtilWithoutCache;
+    private Authentication authentication;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil(jwtProperties(10_000));
+        jwtUtilWithoutCache = new JwtUtil(jwtProperties(0));
+
+        AppUserDetails user = new AppUserDetails("benchmark", "secret",
+                List.of(new SimpleGrantedAuthority("ROLE_USER")), 0);
+        authentication = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+        token = jwtUtil.generateToken(authentication);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(authentication);
+    }
+
+    @Benchmark
+    public Claims extractAllClaims() {
+        return jwtUtil.extractAllClaims(token);
+    }
+
+    //Sin cache se verifica la firma HMAC en cada llamada
+    @Benchmark
+    public Claims extractAllClaimsWithoutCache() {
+        return jwtUtilWithoutCache.extractAllClaims(token);
+    }
+
+    private JwtProperties jwtProperties(long claimsCacheSize) {
+        JwtProperties jwtProperties = new JwtProperties();
+        jwtProperties.setSecretKey("benchmarkSecretKeyThatIsLongEnoughForHmacSha256Signing");
+        jwtProperties.setExpiration(3600);
+        jwtProperties.setClaimsCacheSize(claimsCacheSize);
+        return jwtProperties;
+    }
+}
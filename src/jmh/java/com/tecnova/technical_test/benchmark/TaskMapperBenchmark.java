@@ -0,0 +1,63 @@
+package com.tecnova.technical_test.benchmark;
+
+import com.tecnova.technical_test.application.mapper.TaskDtoMapper;
+import com.tecnova.technical_test.application.mapper.TaskDtoMapperImpl;
+import com.tecnova.technical_test.domain.model.Task;
+import com.tecnova.technical_test.domain.model.dto.TaskDto;
+import com.tecnova.technical_test.infrastructure.adapter.entity.TaskEntity;
+import com.tecnova.technical_test.infrastructure.adapter.entity.TaskStatusEntity;
+import com.tecnova.technical_test.infrastructure.adapter.entity.UserEntity;
+import com.tecnova.technical_test.infrastructure.adapter.mapper.TaskDboMapper;
+import com.tecnova.technical_test.infrastructure.adapter.mapper.TaskDboMapperImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskMapperBenchmark {
+
+    private final TaskDboMapper taskDboMapper = new TaskDboMapperImpl();
+    private final TaskDtoMapper taskDtoMapper = new TaskDtoMapperImpl();
+    private TaskEntity taskEntity;
+    private Task task;
+
+    @Setup
+    public void setUp() {
+        UserEntity user = UserEntity.builder().id(1L).name("Benchmark User").email("benchmark@test.cl").build();
+        TaskStatusEntity status = TaskStatusEntity.builder().id(1L).description("Pendiente").build();
+        taskEntity = TaskEntity.builder()
+                .id(1L)
+                .title("Benchmark task")
+                .description("Task used by the mapper benchmark")
+                .limitDate(LocalDate.of(2025, 7, 15))
+                .userEntity(user)
+                .taskStatusEntity(status)
+                .build();
+        task = taskDboMapper.toDomain(taskEntity);
+    }
+
+    @Benchmark
+    public Task taskDboMapperToDomain() {
+        return taskDboMapper.toDomain(taskEntity);
+    }
+
+    @Benchmark
+    public TaskDto taskDtoMapperToDto() {
+        return taskDtoMapper.toDto(task);
+    }
+}
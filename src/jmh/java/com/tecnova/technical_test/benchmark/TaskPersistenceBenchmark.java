@@ -0,0 +1,96 @@
+package com.tecnova.technical_test.benchmark;
+
+import com.tecnova.technical_test.TechnicalTestApplication;
+import com.tecnova.technical_test.domain.model.dto.TaskDto;
+import com.tecnova.technical_test.infrastructure.adapter.TaskSpringJpaAdapter;
+import com.tecnova.technical_test.infrastructure.adapter.entity.TaskEntity;
+import com.tecnova.technical_test.infrastructure.adapter.entity.TaskStatusEntity;
+import com.tecnova.technical_test.infrastructure.adapter.entity.UserEntity;
+import com.tecnova.technical_test.infrastructure.adapter.repository.ITaskRepository;
+import com.tecnova.technical_test.infrastructure.adapter.repository.ITaskStatusRepository;
+import com.tecnova.technical_test.infrastructure.adapter.repository.IUserRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskPersistenceBenchmark {
+
+    @Param({"10", "1000"})
+    private int tasks;
+
+    private ConfigurableApplicationContext context;
+    private TaskSpringJpaAdapter taskAdapter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        //Sin servidor web y con argumentos de linea de comandos, asi tienen prioridad sobre application.properties
+        context = new SpringApplicationBuilder(TechnicalTestApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(
+                        "--spring.datasource.url=jdbc:h2:mem:benchmark_" + tasks,
+                        "--spring.jpa.show-sql=false",
+                        "--spring.h2.console.enabled=false",
+                        "--spring.devtools.restart.enabled=false",
+                        "--logging.level.root=WARN");
+        seed(context.getBean(ITaskRepository.class), context.getBean(IUserRepository.class),
+                context.getBean(ITaskStatusRepository.class));
+        taskAdapter = context.getBean(TaskSpringJpaAdapter.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<TaskDto> getAllTaskDto() {
+        return taskAdapter.getAllTaskDto();
+    }
+
+    //La BD ya trae 2 tareas desde data.sql, se completan hasta el tamaño del parametro
+    private void seed(ITaskRepository taskRepository, IUserRepository userRepository,
+                      ITaskStatusRepository taskStatusRepository) {
+        TaskStatusEntity status = taskStatusRepository.findById(1L).orElseThrow();
+        List<UserEntity> users = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            users.add(UserEntity.builder().name("Benchmark " + i).email("benchmark" + i + "@test.cl").build());
+        }
+        users = userRepository.saveAll(users);
+
+        List<TaskEntity> taskEntities = new ArrayList<>();
+        for (long i = taskRepository.count(); i < tasks; i++) {
+            taskEntities.add(TaskEntity.builder()
+                    .title("Task " + i)
+                    .description("Benchmark task " + i)
+                    .limitDate(LocalDate.now().plusDays(i % 30))
+                    .userEntity(users.get((int) (i % users.size())))
+                    .taskStatusEntity(status)
+                    .build());
+        }
+        taskRepository.saveAll(taskEntities);
+    }
+}
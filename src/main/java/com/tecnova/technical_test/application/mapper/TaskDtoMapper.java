@@ -18,6 +18,7 @@ public interface TaskDtoMapper {
     @Mapping(source = "nameUser", target = "nameUser")
     @Mapping(source = "idTaskStatus", target = "idTaskStatus")
     @Mapping(source = "descriptionTaskStatus", target = "descriptionTaskStatus")
+    @Mapping(source = "version", target = "version")
     TaskDto toDto(Task domain);
 
     @Mapping(source = "title", target = "title")
@@ -25,6 +26,10 @@ public interface TaskDtoMapper {
     @Mapping(source = "limitDate", target = "limitDate")
     @Mapping(source = "idUser", target = "idUser")
     @Mapping(source = "idTaskStatus", target = "idTaskStatus")
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "nameUser", ignore = true)
+    @Mapping(target = "descriptionTaskStatus", ignore = true)
+    @Mapping(target = "version", ignore = true)
     Task toDomain(TaskCreationRequest creationTaskRequest);
 
     @Mapping(source = "title", target = "title")
@@ -32,5 +37,10 @@ public interface TaskDtoMapper {
     @Mapping(source = "limitDate", target = "limitDate")
     @Mapping(source = "idUser", target = "idUser")
     @Mapping(source = "idTaskStatus", target = "idTaskStatus")
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "nameUser", ignore = true)
+    @Mapping(target = "descriptionTaskStatus", ignore = true)
+    //La version viene del If-Match y la asigna el servicio
+    @Mapping(target = "version", ignore = true)
     Task toDomainUpdate(TaskUpdateRequest taskUpdateRequest);
 }
@@ -1,11 +1,13 @@
 package com.tecnova.technical_test.application.service;
 
+import com.tecnova.technical_test.infrastructure.adapter.config.jwt.AppUserDetails;
 import com.tecnova.technical_test.infrastructure.adapter.entity.AppUserEntity;
 import com.tecnova.technical_test.infrastructure.adapter.repository.IAppUserRepository;
 import lombok.NoArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -14,7 +16,7 @@ import java.util.Collections;
 
 @NoArgsConstructor
 @Service
-public class AppUserService implements UserDetailsService {
+public class AppUserService implements UserDetailsService, UserDetailsPasswordService {
 
     @Autowired
     private IAppUserRepository appUserRepository;
@@ -26,10 +28,28 @@ public class AppUserService implements UserDetailsService {
                         .orElseThrow(() -> new UsernameNotFoundException("User not found"));
         SimpleGrantedAuthority authority = new SimpleGrantedAuthority(appUserEntity.getRole().getName().toString());
 
-        return new org.springframework.security.core.userdetails.User(
+        return new AppUserDetails(
                 appUserEntity.getUserName(),
                 appUserEntity.getPassword(),
-                Collections.singleton(authority)
+                Collections.singleton(authority),
+                appUserEntity.getTokenVersion()
+        );
+    }
+
+    //DaoAuthenticationProvider lo llama despues de un login correcto cuando upgradeEncoding pide rehacer el hash
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        AppUserEntity appUserEntity =
+                appUserRepository.findByUserName(user.getUsername())
+                        .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+        appUserEntity.setPassword(newPassword);
+        appUserRepository.save(appUserEntity);
+
+        return new AppUserDetails(
+                appUserEntity.getUserName(),
+                newPassword,
+                user.getAuthorities(),
+                appUserEntity.getTokenVersion()
         );
     }
 
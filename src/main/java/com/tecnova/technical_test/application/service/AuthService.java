@@ -1,11 +1,12 @@
 package com.tecnova.technical_test.application.service;
 
 import com.tecnova.technical_test.domain.model.dto.NewUserDto;
+import com.tecnova.technical_test.infrastructure.adapter.cache.ReferenceDataCache;
+import com.tecnova.technical_test.infrastructure.adapter.config.LoginRateLimiter;
 import com.tecnova.technical_test.infrastructure.adapter.config.jwt.JwtUtil;
 import com.tecnova.technical_test.infrastructure.adapter.entity.AppUserEntity;
 import com.tecnova.technical_test.infrastructure.adapter.entity.RoleEntity;
 import com.tecnova.technical_test.infrastructure.adapter.enums.RoleList;
-import com.tecnova.technical_test.infrastructure.adapter.repository.IRoleRepository;
 import jakarta.security.auth.message.AuthException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -21,21 +22,25 @@ import org.springframework.stereotype.Service;
 public class AuthService {
 
     private final AppUserService appUserService;
-    private final IRoleRepository roleRepository;
+    private final ReferenceDataCache referenceDataCache;
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
     private final AuthenticationManagerBuilder authenticationManagerBuilder;
+    private final LoginRateLimiter loginRateLimiter;
 
     @Autowired
-    public AuthService(AppUserService appUserService, IRoleRepository roleRepository, PasswordEncoder passwordEncoder, JwtUtil jwtUtil, AuthenticationManagerBuilder authenticationManagerBuilder) {
+    public AuthService(AppUserService appUserService, ReferenceDataCache referenceDataCache, PasswordEncoder passwordEncoder, JwtUtil jwtUtil, AuthenticationManagerBuilder authenticationManagerBuilder, LoginRateLimiter loginRateLimiter) {
         this.appUserService = appUserService;
-        this.roleRepository = roleRepository;
+        this.referenceDataCache = referenceDataCache;
         this.passwordEncoder = passwordEncoder;
         this.jwtUtil = jwtUtil;
         this.authenticationManagerBuilder = authenticationManagerBuilder;
+        this.loginRateLimiter = loginRateLimiter;
     }
 
-    public String authenticate(String username, String password) throws AuthException {
+    public String authenticate(String username, String password, String clientIp) throws AuthException {
+        //Se rechaza con 429 antes de calcular el hash de BCrypt
+        loginRateLimiter.acquire(username, clientIp);
         try {
             UsernamePasswordAuthenticationToken authenticationToken =
                     new UsernamePasswordAuthenticationToken(username, password);
@@ -43,6 +48,7 @@ public class AuthService {
             Authentication authResult = authenticationManagerBuilder.getObject().authenticate(authenticationToken);
 
             SecurityContextHolder.getContext().setAuthentication(authResult);
+            loginRateLimiter.reset(username);
             return jwtUtil.generateToken(authResult);
 
         } catch (BadCredentialsException ex) {
@@ -60,7 +66,7 @@ public class AuthService {
         RoleList roleEnum = RoleList.fromValue(newUserDto.getRole())
                 .orElseThrow(() -> new IllegalArgumentException("Invalid role: " + newUserDto.getRole()));
 
-        RoleEntity role = roleRepository.findByName(roleEnum)
+        RoleEntity role = referenceDataCache.getRole(roleEnum)
                 .orElseThrow(() -> new RuntimeException("Role not found"));
 
         AppUserEntity user = new AppUserEntity(
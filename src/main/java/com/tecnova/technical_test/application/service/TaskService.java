@@ -2,14 +2,25 @@ package com.tecnova.technical_test.application.service;
 
 import com.tecnova.technical_test.application.mapper.TaskDtoMapper;
 import com.tecnova.technical_test.application.usecase.ITaskService;
+import com.tecnova.technical_test.domain.model.TaskBatchItem;
+import com.tecnova.technical_test.domain.model.TaskFilter;
+import com.tecnova.technical_test.domain.model.TaskVersion;
+import com.tecnova.technical_test.domain.model.constant.TaskConstant;
 import com.tecnova.technical_test.domain.model.dto.TaskDto;
 import com.tecnova.technical_test.domain.model.dto.request.TaskCreationRequest;
 import com.tecnova.technical_test.domain.model.dto.request.TaskUpdateRequest;
+import com.tecnova.technical_test.domain.model.dto.response.TaskBatchItemResponse;
+import com.tecnova.technical_test.domain.model.dto.response.TaskBatchResponse;
+import com.tecnova.technical_test.domain.model.dto.response.TaskDeleteResponse;
+import com.tecnova.technical_test.domain.model.dto.response.TaskMultiGetResponse;
+import com.tecnova.technical_test.domain.model.dto.response.TaskPageResponse;
 import com.tecnova.technical_test.domain.port.ITaskPort;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -27,15 +38,58 @@ public class TaskService implements ITaskService {
 
     @Override
     public TaskDto getTaskById(Long id) {
-        var taskInfo = taskPort.getTaskById(id);
+        return taskPort.getTaskDtoById(id);
+    }
+
+    //Respeta el orden pedido; los ids que no existen se informan en missingIds en vez de lanzar TaskException
+    @Override
+    public TaskMultiGetResponse getTasksByIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty() || ids.size() > TaskConstant.MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException(
+                    String.format(TaskConstant.INVALID_BATCH_SIZE_MESSAGE_ERROR, TaskConstant.MAX_BATCH_SIZE));
+        }
+
+        var distinctIds = ids.stream().distinct().toList();
+        var tasks = taskPort.getTasksByIds(distinctIds).stream()
+                .collect(Collectors.toMap(TaskDto::getId, Function.identity()));
 
-        return taskDtoMapper.toDto(taskInfo);
+        return TaskMultiGetResponse.builder()
+                .items(distinctIds.stream().filter(tasks::containsKey).map(tasks::get).toList())
+                .missingIds(distinctIds.stream().filter(id -> !tasks.containsKey(id)).toList())
+                .build();
     }
 
     @Override
     public List<TaskDto> getAllTask() {
-        var taskList = taskPort.getAllTask();
-        return taskList.stream().map(taskDtoMapper::toDto).collect(Collectors.toList());
+        return taskPort.getAllTaskDto();
+    }
+
+    @Override
+    public TaskPageResponse getTaskPage(TaskFilter filter, Long after, Integer limit) {
+        int pageLimit = validatePage(filter, limit);
+        var taskPage = taskPort.getTaskPage(filter, after, pageLimit);
+
+        return TaskPageResponse.builder()
+                .items(taskPage.getItems().stream().map(taskDtoMapper::toDto).collect(Collectors.toList()))
+                .limit(pageLimit)
+                .nextCursor(taskPage.getNextCursor())
+                .hasNext(taskPage.getNextCursor() != null)
+                .build();
+    }
+
+    @Override
+    public Long getTaskVersion(Long id) {
+        return taskPort.getTaskVersion(id);
+    }
+
+    @Override
+    public List<TaskVersion> getTaskPageVersions(TaskFilter filter, Long after, Integer limit) {
+        return taskPort.getTaskPageVersions(filter, after, validatePage(filter, limit));
+    }
+
+    @Override
+    public void exportTasks(Consumer<TaskDto> consumer) {
+        taskPort.exportTasks(consumer);
     }
 
     @Override
@@ -47,8 +101,27 @@ public class TaskService implements ITaskService {
     }
 
     @Override
-    public TaskDto updateTask(TaskUpdateRequest taskUpdateRequest, Long idTask) {
+    public TaskBatchResponse createTasks(List<TaskCreationRequest> requests) {
+        if (requests == null || requests.isEmpty() || requests.size() > TaskConstant.MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException(
+                    String.format(TaskConstant.INVALID_BATCH_SIZE_MESSAGE_ERROR, TaskConstant.MAX_BATCH_SIZE));
+        }
+
+        var tasksToCreate = requests.stream().map(taskDtoMapper::toDomain).collect(Collectors.toList());
+        var items = taskPort.createTasks(tasksToCreate).stream().map(this::toBatchItemResponse).toList();
+        int created = (int) items.stream().filter(item -> item.getTask() != null).count();
+
+        return TaskBatchResponse.builder()
+                .created(created)
+                .rejected(items.size() - created)
+                .items(items)
+                .build();
+    }
+
+    @Override
+    public TaskDto updateTask(TaskUpdateRequest taskUpdateRequest, Long idTask, Long expectedVersion) {
         var taskToUpdate = taskDtoMapper.toDomainUpdate(taskUpdateRequest);
+        taskToUpdate.setVersion(expectedVersion);
         var taskUpdated = taskPort.updateTask(taskToUpdate, idTask);
 
         return taskDtoMapper.toDto(taskUpdated);
@@ -58,4 +131,43 @@ public class TaskService implements ITaskService {
     public void deleteTaskById(Long idTask) {
         taskPort.deleteTaskById(idTask);
     }
+
+    //Los ids que no existen no son error, se informan como requested - deleted
+    @Override
+    public TaskDeleteResponse deleteTasksByIds(List<Long> idTasks) {
+        if (idTasks == null || idTasks.isEmpty() || idTasks.size() > TaskConstant.MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException(
+                    String.format(TaskConstant.INVALID_BATCH_SIZE_MESSAGE_ERROR, TaskConstant.MAX_BATCH_SIZE));
+        }
+
+        var distinctIds = idTasks.stream().distinct().toList();
+        return TaskDeleteResponse.builder()
+                .requested(distinctIds.size())
+                .deleted(taskPort.deleteTasksByIds(distinctIds))
+                .build();
+    }
+
+    private TaskBatchItemResponse toBatchItemResponse(TaskBatchItem item) {
+        return TaskBatchItemResponse.builder()
+                .index(item.getIndex())
+                .status(item.isCreated() ? TaskConstant.BATCH_ITEM_CREATED : TaskConstant.BATCH_ITEM_REJECTED)
+                .task(item.isCreated() ? taskDtoMapper.toDto(item.getTask()) : null)
+                .error(item.getError())
+                .build();
+    }
+
+    private int validatePage(TaskFilter filter, Integer limit) {
+        int pageLimit = limit == null ? TaskConstant.DEFAULT_PAGE_LIMIT : limit;
+
+        if (pageLimit < 1 || pageLimit > TaskConstant.MAX_PAGE_LIMIT) {
+            throw new IllegalArgumentException(
+                    String.format(TaskConstant.INVALID_PAGE_LIMIT_MESSAGE_ERROR, TaskConstant.MAX_PAGE_LIMIT));
+        }
+
+        if (filter.getLimitDateFrom() != null && filter.getLimitDateTo() != null
+                && filter.getLimitDateFrom().isAfter(filter.getLimitDateTo())) {
+            throw new IllegalArgumentException(TaskConstant.INVALID_DATE_RANGE_MESSAGE_ERROR);
+        }
+        return pageLimit;
+    }
 }
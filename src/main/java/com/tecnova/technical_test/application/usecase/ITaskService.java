@@ -1,17 +1,31 @@
 package com.tecnova.technical_test.application.usecase;
 
+import com.tecnova.technical_test.domain.model.TaskFilter;
+import com.tecnova.technical_test.domain.model.TaskVersion;
 import com.tecnova.technical_test.domain.model.dto.TaskDto;
 import com.tecnova.technical_test.domain.model.dto.request.TaskCreationRequest;
 import com.tecnova.technical_test.domain.model.dto.request.TaskUpdateRequest;
+import com.tecnova.technical_test.domain.model.dto.response.TaskBatchResponse;
+import com.tecnova.technical_test.domain.model.dto.response.TaskDeleteResponse;
+import com.tecnova.technical_test.domain.model.dto.response.TaskMultiGetResponse;
+import com.tecnova.technical_test.domain.model.dto.response.TaskPageResponse;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface ITaskService {
 
     TaskDto getTaskById(Long id);
+    TaskMultiGetResponse getTasksByIds(List<Long> ids);
     List<TaskDto> getAllTask();
+    TaskPageResponse getTaskPage(TaskFilter filter, Long after, Integer limit);
+    Long getTaskVersion(Long id);
+    List<TaskVersion> getTaskPageVersions(TaskFilter filter, Long after, Integer limit);
+    void exportTasks(Consumer<TaskDto> consumer);
     TaskDto createTask(TaskCreationRequest request);
-    TaskDto updateTask(TaskUpdateRequest taskUpdateRequest, Long idTask);
+    TaskBatchResponse createTasks(List<TaskCreationRequest> requests);
+    TaskDto updateTask(TaskUpdateRequest taskUpdateRequest, Long idTask, Long expectedVersion);
     void deleteTaskById(Long idTask);
+    TaskDeleteResponse deleteTasksByIds(List<Long> idTasks);
 
 }
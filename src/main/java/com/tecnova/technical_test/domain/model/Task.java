@@ -20,4 +20,5 @@ public class Task {
     private String nameUser;
     private Long idTaskStatus;
     private String descriptionTaskStatus;
+    private Long version;
 }
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.tecnova.technical_test.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class TaskBatchItem {
+    private int index;
+    private Task task;
+    private String error;
+
+    public boolean isCreated() {
+        return task != null;
+    }
+}
@@ -0,0 +1,21 @@
+package com.tecnova.technical_test.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Getter
+@Setter
+public class TaskFilter {
+    private Long idUser;
+    private Long idTaskStatus;
+    private LocalDate limitDateFrom;
+    private LocalDate limitDateTo;
+}
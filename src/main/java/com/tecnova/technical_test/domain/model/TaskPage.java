@@ -0,0 +1,17 @@
+package com.tecnova.technical_test.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class TaskPage {
+    private List<Task> items;
+    private Long nextCursor;
+}
@@ -0,0 +1,11 @@
+package com.tecnova.technical_test.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@AllArgsConstructor
+@Getter
+public class TaskVersion {
+    private Long id;
+    private Long version;
+}
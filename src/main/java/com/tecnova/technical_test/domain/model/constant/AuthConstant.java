@@ -0,0 +1,8 @@
+package com.tecnova.technical_test.domain.model.constant;
+
+public class AuthConstant {
+    public static final String PASSWORD_HASHING_BUSY_MESSAGE_ERROR =
+            "Too many login or register requests are being processed, retry later";
+    public static final String LOGIN_RATE_LIMIT_MESSAGE_ERROR =
+            "Too many login attempts for this user or client, retry later";
+}
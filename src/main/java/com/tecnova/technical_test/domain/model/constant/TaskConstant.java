@@ -3,4 +3,21 @@ package com.tecnova.technical_test.domain.model.constant;
 public class TaskConstant {
     public static final String TASK_NOT_FOUND_MESSAGE_ERROR = "The task with id %s was not found";
     public static final String TASKS_NOT_FOUND_MESSAGE_ERROR = "No tasks found in DB";
+    public static final String INVALID_PAGE_LIMIT_MESSAGE_ERROR = "The limit must be between 1 and %s";
+    public static final String INVALID_DATE_RANGE_MESSAGE_ERROR = "limitDateFrom must be before or equal to limitDateTo";
+    public static final String INVALID_BATCH_SIZE_MESSAGE_ERROR = "The batch must contain between 1 and %s tasks";
+    public static final String TASK_TITLE_REQUIRED_MESSAGE_ERROR = "The title of the task is required";
+    public static final String TASK_VERSION_MISMATCH_MESSAGE_ERROR =
+            "The task with id %s was modified, expected version %s but current version is %s";
+    public static final String INVALID_IF_MATCH_MESSAGE_ERROR = "If-Match does not contain an ETag of the task with id %s";
+
+    public static final int DEFAULT_PAGE_LIMIT = 20;
+    public static final int MAX_PAGE_LIMIT = 100;
+
+    public static final int MAX_BATCH_SIZE = 500;
+    public static final String BATCH_ITEM_CREATED = "CREATED";
+    public static final String BATCH_ITEM_REJECTED = "REJECTED";
+
+    public static final int EXPORT_PAGE_SIZE = 500;
+    public static final String EXPORT_CONTENT_TYPE = "application/x-ndjson";
 }
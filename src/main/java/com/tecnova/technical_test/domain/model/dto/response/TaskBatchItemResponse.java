@@ -0,0 +1,18 @@
+package com.tecnova.technical_test.domain.model.dto.response;
+
+import com.tecnova.technical_test.domain.model.dto.TaskDto;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskBatchItemResponse {
+    private int index;
+    private String status;
+    private TaskDto task;
+    private String error;
+}
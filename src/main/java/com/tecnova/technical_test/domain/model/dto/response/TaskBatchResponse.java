@@ -0,0 +1,18 @@
+package com.tecnova.technical_test.domain.model.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskBatchResponse {
+    private int created;
+    private int rejected;
+    private List<TaskBatchItemResponse> items;
+}
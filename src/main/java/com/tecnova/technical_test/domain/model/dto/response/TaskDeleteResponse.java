@@ -0,0 +1,15 @@
+package com.tecnova.technical_test.domain.model.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskDeleteResponse {
+    private int requested;
+    private int deleted;
+}
@@ -0,0 +1,18 @@
+package com.tecnova.technical_test.domain.model.dto.response;
+
+import com.tecnova.technical_test.domain.model.dto.TaskDto;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskMultiGetResponse {
+    private List<TaskDto> items;
+    private List<Long> missingIds;
+}
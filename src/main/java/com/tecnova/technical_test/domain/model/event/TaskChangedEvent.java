@@ -0,0 +1,16 @@
+package com.tecnova.technical_test.domain.model.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@AllArgsConstructor
+@Getter
+public class TaskChangedEvent {
+    private List<Long> idTasks;
+
+    public static TaskChangedEvent of(Long idTask) {
+        return new TaskChangedEvent(List.of(idTask));
+    }
+}
@@ -1,15 +1,29 @@
 package com.tecnova.technical_test.domain.port;
 
 import com.tecnova.technical_test.domain.model.Task;
+import com.tecnova.technical_test.domain.model.TaskBatchItem;
+import com.tecnova.technical_test.domain.model.TaskFilter;
+import com.tecnova.technical_test.domain.model.TaskPage;
+import com.tecnova.technical_test.domain.model.TaskVersion;
+import com.tecnova.technical_test.domain.model.dto.TaskDto;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface ITaskPort {
 
-    Task getTaskById(Long id);
-    List<Task> getAllTask();
+    TaskDto getTaskDtoById(Long id);
+    List<TaskDto> getTasksByIds(Collection<Long> ids);
+    List<TaskDto> getAllTaskDto();
+    void exportTasks(Consumer<TaskDto> consumer);
+    TaskPage getTaskPage(TaskFilter filter, Long after, int limit);
+    Long getTaskVersion(Long id);
+    List<TaskVersion> getTaskPageVersions(TaskFilter filter, Long after, int limit);
     Task createTask(Task request);
+    List<TaskBatchItem> createTasks(List<Task> requests);
     Task updateTask(Task request, Long idTask);
     void deleteTaskById(Long idTask);
+    int deleteTasksByIds(List<Long> idTasks);
 
 }
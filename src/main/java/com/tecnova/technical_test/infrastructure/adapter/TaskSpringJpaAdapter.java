@@ -1,25 +1,46 @@
 package com.tecnova.technical_test.infrastructure.adapter;
 
 import com.tecnova.technical_test.domain.model.Task;
+import com.tecnova.technical_test.domain.model.TaskBatchItem;
+import com.tecnova.technical_test.domain.model.TaskFilter;
+import com.tecnova.technical_test.domain.model.TaskPage;
+import com.tecnova.technical_test.domain.model.TaskVersion;
 import com.tecnova.technical_test.domain.model.constant.TaskConstant;
 import com.tecnova.technical_test.domain.model.constant.TaskStatusConstant;
 import com.tecnova.technical_test.domain.model.constant.UserConstant;
+import com.tecnova.technical_test.domain.model.dto.TaskDto;
+import com.tecnova.technical_test.domain.model.event.TaskChangedEvent;
 import com.tecnova.technical_test.domain.port.ITaskPort;
+import com.tecnova.technical_test.infrastructure.adapter.cache.ReferenceDataCache;
 import com.tecnova.technical_test.infrastructure.adapter.entity.TaskEntity;
+import com.tecnova.technical_test.infrastructure.adapter.entity.TaskStatusEntity;
+import com.tecnova.technical_test.infrastructure.adapter.entity.UserEntity;
 import com.tecnova.technical_test.infrastructure.adapter.exceptions.TaskException;
 import com.tecnova.technical_test.infrastructure.adapter.exceptions.TaskStatusException;
+import com.tecnova.technical_test.infrastructure.adapter.exceptions.TaskVersionException;
 import com.tecnova.technical_test.infrastructure.adapter.exceptions.UserException;
 import com.tecnova.technical_test.infrastructure.adapter.mapper.TaskDboMapper;
 import com.tecnova.technical_test.infrastructure.adapter.repository.ITaskRepository;
 import com.tecnova.technical_test.infrastructure.adapter.repository.ITaskStatusRepository;
 import com.tecnova.technical_test.infrastructure.adapter.repository.IUserRepository;
+import com.tecnova.technical_test.infrastructure.adapter.repository.specification.TaskSpecifications;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -30,40 +51,94 @@ public class TaskSpringJpaAdapter implements ITaskPort {
     private final IUserRepository userRepository;
     private final ITaskStatusRepository taskStatusRepository;
     private final TaskDboMapper taskDboMapper;
+    private final ReferenceDataCache referenceDataCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
     public TaskSpringJpaAdapter(ITaskRepository taskRepository, IUserRepository userRepository,
                                 ITaskStatusRepository taskStatusRepository,
-                                TaskDboMapper taskDboMapper) {
+                                TaskDboMapper taskDboMapper, ReferenceDataCache referenceDataCache,
+                                ApplicationEventPublisher eventPublisher) {
         this.taskRepository = taskRepository;
         this.userRepository = userRepository;
         this.taskStatusRepository = taskStatusRepository;
         this.taskDboMapper = taskDboMapper;
+        this.referenceDataCache = referenceDataCache;
+        this.eventPublisher = eventPublisher;
     }
 
+    //Lectura sin entidades administradas: el join se proyecta directo al DTO, una instancia por fila
     @Override
-    public Task getTaskById(Long id) {
-        //Esto devuelve un objeto de Infraestructura
-        var optionalUserInfo = taskRepository.findById(id);
-
-        if (optionalUserInfo.isEmpty()) {
-            throw new TaskException(HttpStatus.NOT_FOUND,
-                    String.format(TaskConstant.TASK_NOT_FOUND_MESSAGE_ERROR, id));
-        }
+    @Transactional(readOnly = true)
+    public TaskDto getTaskDtoById(Long id) {
+        return taskRepository.findDtoById(id)
+                .orElseThrow(() -> new TaskException(HttpStatus.NOT_FOUND,
+                        String.format(TaskConstant.TASK_NOT_FOUND_MESSAGE_ERROR, id)));
+    }
 
-        //Se convierte el objeto de Infraestructura a Dominio
-        return taskDboMapper.toDomain(optionalUserInfo.get());
+    //Un solo select con IN y join a usuario/estado, los ids que no existen simplemente no vuelven
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaskDto> getTasksByIds(Collection<Long> ids) {
+        return taskRepository.findAllDtoByIds(ids);
     }
 
     @Override
-    public List<Task> getAllTask() {
-        var taskList = taskRepository.findAll();
+    @Transactional(readOnly = true)
+    public List<TaskDto> getAllTaskDto() {
+        var taskList = taskRepository.findAllDto();
 
         if (taskList.isEmpty()) {
             throw new TaskException(HttpStatus.NOT_FOUND,
                     String.format(TaskConstant.TASKS_NOT_FOUND_MESSAGE_ERROR));
         }
-        return taskList.stream().map(taskDboMapper::toDomain).collect(Collectors.toList());
+        return taskList;
+    }
+
+    //Se exporta por paginas de EXPORT_PAGE_SIZE siguiendo el id, cada pagina se entrega y se descarta antes de
+    //consultar la siguiente (los ids de tareas_seq empiezan en 1)
+    @Override
+    @Transactional(readOnly = true)
+    public void exportTasks(Consumer<TaskDto> consumer) {
+        Long after = 0L;
+        List<TaskDto> page;
+        do {
+            page = taskRepository.findDtoPageAfter(after, Limit.of(TaskConstant.EXPORT_PAGE_SIZE));
+            page.forEach(consumer);
+            if (!page.isEmpty()) {
+                after = page.get(page.size() - 1).getId();
+            }
+        } while (page.size() == TaskConstant.EXPORT_PAGE_SIZE);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaskPage getTaskPage(TaskFilter filter, Long after, int limit) {
+        //Se pide un registro extra para saber si existe una pagina siguiente sin ejecutar un count
+        List<TaskEntity> taskList = taskRepository.findBy(TaskSpecifications.pageOf(filter, after),
+                query -> query.sortBy(Sort.by(Sort.Direction.ASC, "id")).limit(limit + 1).all());
+
+        boolean hasNext = taskList.size() > limit;
+        var pageContent = hasNext ? taskList.subList(0, limit) : taskList;
+        Long nextCursor = hasNext ? pageContent.get(pageContent.size() - 1).getId() : null;
+
+        return new TaskPage(pageContent.stream().map(taskDboMapper::toDomain).collect(Collectors.toList()),
+                nextCursor);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Long getTaskVersion(Long id) {
+        return taskRepository.findVersionById(id)
+                .orElseThrow(() -> new TaskException(HttpStatus.NOT_FOUND,
+                        String.format(TaskConstant.TASK_NOT_FOUND_MESSAGE_ERROR, id)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaskVersion> getTaskPageVersions(TaskFilter filter, Long after, int limit) {
+        //Mismo registro extra que getTaskPage, asi el ETag tambien cambia cuando aparece una pagina siguiente
+        return taskRepository.findVersions(TaskSpecifications.pageOf(filter, after), limit + 1);
     }
 
     @Override
@@ -75,85 +150,117 @@ public class TaskSpringJpaAdapter implements ITaskPort {
                     String.format(UserConstant.USER_NOT_FOUND_MESSAGE_ERROR, request.getIdUser()));
         }
 
-        var taskStatusOptional = taskStatusRepository.findById(request.getIdTaskStatus());
-
-        if (taskStatusOptional.isEmpty()) {
-            throw new TaskStatusException(HttpStatus.NOT_FOUND,
-                    String.format(TaskStatusConstant.TASK_STATUS_NOT_FOUND_MESSAGE_ERROR, request.getIdTaskStatus()));
-        }
+        var taskStatus = getCachedTaskStatus(request.getIdTaskStatus());
 
         var taskToCreate = taskDboMapper.toDbo(request);
+        taskToCreate.setUserEntity(userInfoOptional.get());
+        taskToCreate.setTaskStatusEntity(taskStatusRepository.getReferenceById(taskStatus.getId()));
         var taskSaved = taskRepository.save(taskToCreate);
 
-        taskSaved.getUserEntity().setName(userInfoOptional.get().getName());
-        taskSaved.getTaskStatusEntity().setDescription(taskStatusOptional.get().getDescription());
-
-        return taskDboMapper.toDomain(taskSaved);
+        return taskDboMapper.toDomain(taskSaved, taskStatus);
     }
 
     @Override
-    public Task updateTask(Task request, Long idTask) {
-        var existingTaskOptional = taskRepository.findById(idTask);
+    public List<TaskBatchItem> createTasks(List<Task> requests) {
+        //Los usuarios salen del cache de segundo nivel y los faltantes con una sola consulta IN, los estados del cache
+        Map<Long, UserEntity> users = userRepository.multiLoadById(distinctIds(requests, Task::getIdUser)).stream()
+                .collect(Collectors.toMap(UserEntity::getId, Function.identity()));
+        Map<Long, TaskStatusEntity> taskStatuses = new HashMap<>();
+        distinctIds(requests, Task::getIdTaskStatus).forEach(idTaskStatus -> referenceDataCache
+                .getTaskStatus(idTaskStatus).ifPresent(taskStatus -> taskStatuses.put(idTaskStatus, taskStatus)));
 
-        if (existingTaskOptional.isEmpty()) {
-            throw new TaskException(HttpStatus.NOT_FOUND,
-                    String.format(TaskConstant.TASK_NOT_FOUND_MESSAGE_ERROR, request.getIdUser()));
-        }
-        var existingTask = getTaskEntity(request, existingTaskOptional, idTask);
-        var taskUpdated = taskRepository.save(existingTask);
-
-        return taskDboMapper.toDomain(existingTask);
-    }
+        TaskBatchItem[] results = new TaskBatchItem[requests.size()];
+        List<TaskEntity> tasksToCreate = new ArrayList<>();
+        List<Integer> createdIndexes = new ArrayList<>();
 
-    @Override
-    public void deleteTaskById(Long idTask) {
-        var existingTaskOptional = taskRepository.findById(idTask);
+        for (int index = 0; index < requests.size(); index++) {
+            var request = requests.get(index);
+            var user = request.getIdUser() == null ? null : users.get(request.getIdUser());
+            var taskStatus = request.getIdTaskStatus() == null ? null : taskStatuses.get(request.getIdTaskStatus());
 
-        if (existingTaskOptional.isEmpty()) {
-            throw new TaskException(HttpStatus.NOT_FOUND,
-                    String.format(TaskConstant.TASK_NOT_FOUND_MESSAGE_ERROR, idTask));
+            if (request.getTitle() == null || request.getTitle().isBlank()) {
+                results[index] = new TaskBatchItem(index, null, TaskConstant.TASK_TITLE_REQUIRED_MESSAGE_ERROR);
+            } else if (user == null) {
+                results[index] = new TaskBatchItem(index, null,
+                        String.format(UserConstant.USER_NOT_FOUND_MESSAGE_ERROR, request.getIdUser()));
+            } else if (taskStatus == null) {
+                results[index] = new TaskBatchItem(index, null,
+                        String.format(TaskStatusConstant.TASK_STATUS_NOT_FOUND_MESSAGE_ERROR, request.getIdTaskStatus()));
+            } else {
+                var taskToCreate = taskDboMapper.toDbo(request);
+                taskToCreate.setUserEntity(user);
+                taskToCreate.setTaskStatusEntity(taskStatusRepository.getReferenceById(taskStatus.getId()));
+                tasksToCreate.add(taskToCreate);
+                createdIndexes.add(index);
+            }
         }
-        taskRepository.deleteById(idTask);
-    }
 
-    private TaskEntity getTaskEntity(Task request, Optional<TaskEntity> existingTaskOptional, Long idTask) {
+        //Los ids salen del pool de la secuencia y los INSERT se envian en lotes JDBC al hacer flush
+        var tasksSaved = taskRepository.saveAll(tasksToCreate);
+        taskRepository.flush();
 
-        if (existingTaskOptional.isEmpty()) {
-            throw new TaskException(HttpStatus.NOT_FOUND,
-                    String.format(TaskConstant.TASK_NOT_FOUND_MESSAGE_ERROR, idTask));
+        for (int position = 0; position < tasksSaved.size(); position++) {
+            int index = createdIndexes.get(position);
+            var taskStatus = taskStatuses.get(requests.get(index).getIdTaskStatus());
+            results[index] = new TaskBatchItem(index, taskDboMapper.toDomain(tasksSaved.get(position), taskStatus),
+                    null);
         }
+        return Arrays.asList(results);
+    }
 
-        var existingTask = existingTaskOptional.get();
-
-        if (request.getTitle() != null) {
-            existingTask.setTitle(request.getTitle());
+    @Override
+    public Task updateTask(Task request, Long idTask) {
+        //findById pasa por el cache de segundo nivel, existsById siempre consulta la BD
+        if (request.getIdUser() != null && userRepository.findById(request.getIdUser()).isEmpty()) {
+            throw new UserException(HttpStatus.NOT_FOUND,
+                    String.format(UserConstant.USER_NOT_FOUND_MESSAGE_ERROR, request.getIdUser()));
         }
 
-        if (request.getDescription() != null) {
-            existingTask.setDescription(request.getDescription());
+        if (request.getIdTaskStatus() != null) {
+            getCachedTaskStatus(request.getIdTaskStatus());
         }
 
-        if (request.getLimitDate() != null) {
-            existingTask.setLimitDate(request.getLimitDate());
+        //request.getVersion() viene del If-Match, null actualiza sin comparar la version
+        if (taskRepository.updateTask(idTask, request, request.getVersion()) == 0) {
+            var currentVersion = taskRepository.findVersionById(idTask)
+                    .orElseThrow(() -> new TaskException(HttpStatus.NOT_FOUND,
+                            String.format(TaskConstant.TASK_NOT_FOUND_MESSAGE_ERROR, idTask)));
+            throw new TaskVersionException(HttpStatus.PRECONDITION_FAILED,
+                    String.format(TaskConstant.TASK_VERSION_MISMATCH_MESSAGE_ERROR, idTask, request.getVersion(),
+                            currentVersion));
         }
+        eventPublisher.publishEvent(TaskChangedEvent.of(idTask));
 
-        if (request.getIdUser() != null) {
-            var userInfoOptional = userRepository.findById(request.getIdUser());
-            if (userInfoOptional.isEmpty()) {
-                throw new UserException(HttpStatus.NOT_FOUND,
-                        String.format(UserConstant.USER_NOT_FOUND_MESSAGE_ERROR, request.getIdUser()));
-            }
-            existingTask.setUserEntity(userInfoOptional.get());
-        }
+        var taskUpdated = taskRepository.findWithRelationsById(idTask)
+                .orElseThrow(() -> new TaskException(HttpStatus.NOT_FOUND,
+                        String.format(TaskConstant.TASK_NOT_FOUND_MESSAGE_ERROR, idTask)));
+        return taskDboMapper.toDomain(taskUpdated);
+    }
 
-        if (request.getIdTaskStatus() != null) {
-            var taskStatusOptional = taskStatusRepository.findById(request.getIdTaskStatus());
-            if (taskStatusOptional.isEmpty()) {
-                throw new TaskStatusException(HttpStatus.NOT_FOUND,
-                        String.format(TaskStatusConstant.TASK_STATUS_NOT_FOUND_MESSAGE_ERROR, request.getIdTaskStatus()));
-            }
-            existingTask.setTaskStatusEntity(taskStatusOptional.get());
+    @Override
+    public void deleteTaskById(Long idTask) {
+        if (taskRepository.deleteTaskById(idTask) == 0) {
+            throw new TaskException(HttpStatus.NOT_FOUND,
+                    String.format(TaskConstant.TASK_NOT_FOUND_MESSAGE_ERROR, idTask));
         }
-        return existingTask;
+        eventPublisher.publishEvent(TaskChangedEvent.of(idTask));
+    }
+
+    @Override
+    public int deleteTasksByIds(List<Long> idTasks) {
+        int deleted = taskRepository.deleteTasksByIds(idTasks);
+        eventPublisher.publishEvent(new TaskChangedEvent(idTasks));
+        return deleted;
+    }
+
+    private List<Long> distinctIds(List<Task> requests, Function<Task, Long> idExtractor) {
+        return requests.stream().map(idExtractor).filter(Objects::nonNull).distinct().toList();
+    }
+
+    //El estado se valida contra el cache y la relacion se arma con una referencia, sin consultar estados_tarea
+    private TaskStatusEntity getCachedTaskStatus(Long idTaskStatus) {
+        return referenceDataCache.getTaskStatus(idTaskStatus)
+                .orElseThrow(() -> new TaskStatusException(HttpStatus.NOT_FOUND,
+                        String.format(TaskStatusConstant.TASK_STATUS_NOT_FOUND_MESSAGE_ERROR, idTaskStatus)));
     }
 }
@@ -0,0 +1,34 @@
+package com.tecnova.technical_test.infrastructure.adapter.cache;
+
+import com.tecnova.technical_test.domain.model.dto.TaskDto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+
+//Copia inmutable de un TaskDto guardada en TaskCache: TaskDto tiene setters y el cache entrega una copia nueva en cada
+//lectura, asi quien la modifique no cambia el valor compartido
+@AllArgsConstructor
+@Getter
+public class CachedTask {
+    private final Long id;
+    private final String title;
+    private final String description;
+    private final LocalDate limitDate;
+    private final Long idUser;
+    private final String nameUser;
+    private final Long idTaskStatus;
+    private final String descriptionTaskStatus;
+    private final Long version;
+
+    public static CachedTask of(TaskDto task) {
+        return new CachedTask(task.getId(), task.getTitle(), task.getDescription(), task.getLimitDate(),
+                task.getIdUser(), task.getNameUser(), task.getIdTaskStatus(), task.getDescriptionTaskStatus(),
+                task.getVersion());
+    }
+
+    public TaskDto toDto() {
+        return new TaskDto(id, title, description, limitDate, idUser, nameUser, idTaskStatus, descriptionTaskStatus,
+                version);
+    }
+}
@@ -0,0 +1,100 @@
+package com.tecnova.technical_test.infrastructure.adapter.cache;
+
+import com.tecnova.technical_test.domain.model.Task;
+import com.tecnova.technical_test.domain.model.TaskBatchItem;
+import com.tecnova.technical_test.domain.model.TaskFilter;
+import com.tecnova.technical_test.domain.model.TaskPage;
+import com.tecnova.technical_test.domain.model.TaskVersion;
+import com.tecnova.technical_test.domain.model.dto.TaskDto;
+import com.tecnova.technical_test.domain.port.ITaskPort;
+import com.tecnova.technical_test.infrastructure.adapter.TaskSpringJpaAdapter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+//Decorador de TaskSpringJpaAdapter: las lecturas por id pasan por TaskCache y el resto se delega sin cambios.
+//La invalidacion la hace TaskCache con el TaskChangedEvent que publica el adapter
+@Component
+@Primary
+public class CachedTaskAdapter implements ITaskPort {
+
+    private final TaskSpringJpaAdapter taskAdapter;
+    private final TaskCache taskCache;
+
+    @Autowired
+    public CachedTaskAdapter(TaskSpringJpaAdapter taskAdapter, TaskCache taskCache) {
+        this.taskAdapter = taskAdapter;
+        this.taskCache = taskCache;
+    }
+
+    //Read-through: solo se consulta la BD cuando la tarea no esta en cache (los 404 no se guardan)
+    @Override
+    public TaskDto getTaskDtoById(Long id) {
+        return taskCache.get(id, taskAdapter::getTaskDtoById);
+    }
+
+    //Las tareas que no estan en cache se traen con una sola consulta, las que no existen no se devuelven
+    @Override
+    public List<TaskDto> getTasksByIds(Collection<Long> ids) {
+        return List.copyOf(taskCache.getAll(ids, missingIds -> taskAdapter.getTasksByIds(List.copyOf(missingIds))
+                .stream().collect(Collectors.toMap(TaskDto::getId, Function.identity()))).values());
+    }
+
+    @Override
+    public List<TaskDto> getAllTaskDto() {
+        return taskAdapter.getAllTaskDto();
+    }
+
+    @Override
+    public void exportTasks(Consumer<TaskDto> consumer) {
+        taskAdapter.exportTasks(consumer);
+    }
+
+    @Override
+    public TaskPage getTaskPage(TaskFilter filter, Long after, int limit) {
+        return taskAdapter.getTaskPage(filter, after, limit);
+    }
+
+    //Primero el cache de tareas, si no esta se consulta solo la columna version
+    @Override
+    public Long getTaskVersion(Long id) {
+        var cachedTask = taskCache.getIfPresent(id);
+        return cachedTask != null ? cachedTask.getVersion() : taskAdapter.getTaskVersion(id);
+    }
+
+    @Override
+    public List<TaskVersion> getTaskPageVersions(TaskFilter filter, Long after, int limit) {
+        return taskAdapter.getTaskPageVersions(filter, after, limit);
+    }
+
+    @Override
+    public Task createTask(Task request) {
+        return taskAdapter.createTask(request);
+    }
+
+    @Override
+    public List<TaskBatchItem> createTasks(List<Task> requests) {
+        return taskAdapter.createTasks(requests);
+    }
+
+    @Override
+    public Task updateTask(Task request, Long idTask) {
+        return taskAdapter.updateTask(request, idTask);
+    }
+
+    @Override
+    public void deleteTaskById(Long idTask) {
+        taskAdapter.deleteTaskById(idTask);
+    }
+
+    @Override
+    public int deleteTasksByIds(List<Long> idTasks) {
+        return taskAdapter.deleteTasksByIds(idTasks);
+    }
+}
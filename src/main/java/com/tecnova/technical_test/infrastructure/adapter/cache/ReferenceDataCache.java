@@ -0,0 +1,115 @@
+package com.tecnova.technical_test.infrastructure.adapter.cache;
+
+import com.tecnova.technical_test.infrastructure.adapter.entity.RoleEntity;
+import com.tecnova.technical_test.infrastructure.adapter.entity.TaskStatusEntity;
+import com.tecnova.technical_test.infrastructure.adapter.enums.RoleList;
+import com.tecnova.technical_test.infrastructure.adapter.repository.IRoleRepository;
+import com.tecnova.technical_test.infrastructure.adapter.repository.ITaskStatusRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Component
+public class ReferenceDataCache {
+
+    public static final String METRIC_NAME = "reference.data.cache";
+    public static final String TASK_STATUS_CACHE = "taskStatus";
+    public static final String ROLE_CACHE = "role";
+
+    private final ITaskStatusRepository taskStatusRepository;
+    private final IRoleRepository roleRepository;
+    private final Counter taskStatusHits;
+    private final Counter taskStatusMisses;
+    private final Counter roleHits;
+    private final Counter roleMisses;
+
+    private volatile Map<Long, TaskStatusEntity> taskStatuses = new ConcurrentHashMap<>();
+    private volatile Map<RoleList, RoleEntity> roles = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ReferenceDataCache(ITaskStatusRepository taskStatusRepository, IRoleRepository roleRepository,
+                              MeterRegistry meterRegistry) {
+        this.taskStatusRepository = taskStatusRepository;
+        this.roleRepository = roleRepository;
+        this.taskStatusHits = counter(meterRegistry, TASK_STATUS_CACHE, "hit");
+        this.taskStatusMisses = counter(meterRegistry, TASK_STATUS_CACHE, "miss");
+        this.roleHits = counter(meterRegistry, ROLE_CACHE, "hit");
+        this.roleMisses = counter(meterRegistry, ROLE_CACHE, "miss");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        refresh();
+    }
+
+    //Se arma un mapa nuevo y se reemplaza completo, las lecturas concurrentes nunca ven un cache a medias
+    public void refresh() {
+        taskStatuses = taskStatusRepository.findAll().stream()
+                .map(this::copyOf)
+                .collect(Collectors.toConcurrentMap(TaskStatusEntity::getId, Function.identity()));
+        roles = roleRepository.findAll().stream()
+                .map(this::copyOf)
+                .collect(Collectors.toConcurrentMap(RoleEntity::getName, Function.identity()));
+    }
+
+    public Optional<TaskStatusEntity> getTaskStatus(Long id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        var taskStatus = taskStatuses.get(id);
+        if (taskStatus != null) {
+            taskStatusHits.increment();
+            return Optional.of(taskStatus);
+        }
+        //Un estado creado despues del warm up se busca en la BD y queda en el cache
+        taskStatusMisses.increment();
+        var loaded = taskStatusRepository.findById(id).map(this::copyOf);
+        loaded.ifPresent(value -> taskStatuses.put(value.getId(), value));
+        return loaded;
+    }
+
+    public Optional<RoleEntity> getRole(RoleList name) {
+        var role = roles.get(name);
+        if (role != null) {
+            roleHits.increment();
+            return Optional.of(role);
+        }
+        roleMisses.increment();
+        var loaded = roleRepository.findByName(name).map(this::copyOf);
+        loaded.ifPresent(value -> roles.put(value.getName(), value));
+        return loaded;
+    }
+
+    public int taskStatusCount() {
+        return taskStatuses.size();
+    }
+
+    public int roleCount() {
+        return roles.size();
+    }
+
+    //Copias sin la coleccion lazy de tareas, se pueden usar fuera de la sesion de Hibernate
+    private TaskStatusEntity copyOf(TaskStatusEntity taskStatus) {
+        return TaskStatusEntity.builder().id(taskStatus.getId()).description(taskStatus.getDescription()).build();
+    }
+
+    private RoleEntity copyOf(RoleEntity role) {
+        return new RoleEntity(role.getId(), role.getName());
+    }
+
+    private Counter counter(MeterRegistry meterRegistry, String cache, String result) {
+        return Counter.builder(METRIC_NAME)
+                .tag("cache", cache)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,35 @@
+package com.tecnova.technical_test.infrastructure.adapter.cache;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Component
+@Endpoint(id = "referencedata")
+public class ReferenceDataEndpoint {
+
+    private final ReferenceDataCache referenceDataCache;
+
+    public ReferenceDataEndpoint(ReferenceDataCache referenceDataCache) {
+        this.referenceDataCache = referenceDataCache;
+    }
+
+    @ReadOperation
+    public Map<String, Integer> entries() {
+        Map<String, Integer> entries = new LinkedHashMap<>();
+        entries.put(ReferenceDataCache.TASK_STATUS_CACHE, referenceDataCache.taskStatusCount());
+        entries.put(ReferenceDataCache.ROLE_CACHE, referenceDataCache.roleCount());
+        return entries;
+    }
+
+    //POST /actuator/referencedata recarga estados y roles desde la BD
+    @WriteOperation
+    public Map<String, Integer> refresh() {
+        referenceDataCache.refresh();
+        return entries();
+    }
+}
@@ -0,0 +1,11 @@
+package com.tecnova.technical_test.infrastructure.adapter.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@AllArgsConstructor
+@Getter
+public class SerializedTask {
+    private byte[] body;
+    private Long version;
+}
@@ -0,0 +1,112 @@
+package com.tecnova.technical_test.infrastructure.adapter.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tecnova.technical_test.domain.model.dto.TaskDto;
+import com.tecnova.technical_test.domain.model.event.TaskChangedEvent;
+import com.tecnova.technical_test.infrastructure.adapter.config.TaskCacheProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+
+@Component
+public class TaskCache {
+
+    public static final String CACHE_NAME = "tasks";
+
+    //Generacion de invalidaciones por grupo de ids (hash del id): una carga que empezo antes de una invalidacion
+    //de su id puede haber leido el valor anterior al commit y no se guarda
+    private static final int GENERATION_STRIPES = 64;
+
+    //Se guardan copias inmutables (CachedTask), cada lectura devuelve un TaskDto nuevo
+    private final Cache<Long, CachedTask> cache;
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    @Autowired
+    public TaskCache(TaskCacheProperties taskCacheProperties, MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(taskCacheProperties.getMaximumSize())
+                .expireAfterWrite(taskCacheProperties.getTimeToLive())
+                .recordStats()
+                .build();
+        //cache.gets (hit/miss) y cache.evictions, mas el hit ratio calculado por Caffeine
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        Gauge.builder("cache.hit.ratio", cache, value -> value.stats().hitRate())
+                .tag("cache", CACHE_NAME)
+                .register(meterRegistry);
+    }
+
+    public TaskDto get(Long idTask, Function<Long, TaskDto> loader) {
+        return getAll(List.of(idTask), ids -> Map.of(idTask, loader.apply(idTask))).get(idTask);
+    }
+
+    //Las tareas que no estan en cache se cargan juntas con una sola llamada al loader.
+    //La carga se hace fuera de Caffeine (su getAll guarda el resultado sin ver las invalidaciones que ocurrieron
+    //mientras tanto) y cada valor se guarda solo si la generacion de su id no cambio
+    public Map<Long, TaskDto> getAll(Collection<Long> idTasks,
+                                     Function<Set<? extends Long>, Map<Long, TaskDto>> loader) {
+        Map<Long, TaskDto> found = new HashMap<>();
+        cache.getAllPresent(idTasks).forEach((idTask, cachedTask) -> found.put(idTask, cachedTask.toDto()));
+        Map<Long, Long> missing = new LinkedHashMap<>();
+        for (Long idTask : idTasks) {
+            if (!found.containsKey(idTask)) {
+                missing.putIfAbsent(idTask, generations.get(stripe(idTask)));
+            }
+        }
+        if (!missing.isEmpty()) {
+            loader.apply(missing.keySet()).forEach((idTask, task) -> {
+                Long generation = missing.get(idTask);
+                if (generation != null) {
+                    found.put(idTask, task);
+                    putIfNotInvalidated(idTask, CachedTask.of(task), generation);
+                }
+            });
+        }
+        Map<Long, TaskDto> result = new LinkedHashMap<>();
+        for (Long idTask : idTasks) {
+            TaskDto task = found.get(idTask);
+            if (task != null) {
+                result.put(idTask, task);
+            }
+        }
+        return result;
+    }
+
+    public TaskDto getIfPresent(Long idTask) {
+        CachedTask cachedTask = cache.getIfPresent(idTask);
+        return cachedTask != null ? cachedTask.toDto() : null;
+    }
+
+    //Se invalida despues del commit para que una lectura concurrente no vuelva a cargar el valor anterior
+    @Order(1)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        //La generacion sube antes de invalidar: una carga en curso o la ve cambiada o su valor se invalida despues
+        event.getIdTasks().forEach(idTask -> generations.incrementAndGet(stripe(idTask)));
+        cache.invalidateAll(event.getIdTasks());
+    }
+
+    //compute serializa el chequeo con el invalidate del mismo id
+    private void putIfNotInvalidated(Long idTask, CachedTask task, long generation) {
+        cache.asMap().compute(idTask,
+                (id, current) -> generations.get(stripe(id)) == generation ? task : current);
+    }
+
+    private static int stripe(Long idTask) {
+        return Long.hashCode(idTask) & (GENERATION_STRIPES - 1);
+    }
+}
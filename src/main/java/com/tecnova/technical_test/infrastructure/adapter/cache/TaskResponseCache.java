@@ -0,0 +1,45 @@
+package com.tecnova.technical_test.infrastructure.adapter.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tecnova.technical_test.domain.model.event.TaskChangedEvent;
+import com.tecnova.technical_test.infrastructure.adapter.config.TaskCacheProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.function.Function;
+
+@Component
+public class TaskResponseCache {
+
+    public static final String CACHE_NAME = "taskResponses";
+
+    private final Cache<Long, SerializedTask> cache;
+
+    @Autowired
+    public TaskResponseCache(TaskCacheProperties taskCacheProperties, MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(taskCacheProperties.getMaximumSize())
+                .expireAfterWrite(taskCacheProperties.getTimeToLive())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    //JSON ya serializado en UTF-8 junto con su version, se escribe directo en la respuesta
+    public SerializedTask get(Long idTask, Function<Long, SerializedTask> serializer) {
+        return cache.get(idTask, serializer);
+    }
+
+    //Se ejecuta despues de TaskCache para no volver a serializar un TaskDto que todavia no se invalida
+    @Order(2)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        cache.invalidateAll(event.getIdTasks());
+    }
+}
@@ -0,0 +1,107 @@
+package com.tecnova.technical_test.infrastructure.adapter.config;
+
+import com.tecnova.technical_test.domain.model.constant.AuthConstant;
+import com.tecnova.technical_test.infrastructure.adapter.exceptions.ServiceBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+//BCrypt se ejecuta en un pool acotado: con los hilos y la cola ocupados se rechaza de inmediato (503) en vez de
+//dejar todos los hilos de Tomcat calculando hashes mientras el resto de las API espera
+public class BoundedPasswordEncoder implements PasswordEncoder, AutoCloseable {
+
+    public static final String EXECUTOR_NAME = "passwordHashing";
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final long retryAfterSeconds;
+    private final MeterRegistry meterRegistry;
+    private final Timer encodeTimer;
+    private final Timer matchesSuccessTimer;
+    private final Timer matchesFailureTimer;
+    private final Counter rejectedCounter;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, PasswordHashingProperties properties,
+                                  MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.executor = new ThreadPoolExecutor(properties.getThreads(), properties.getThreads(),
+                0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                new CustomizableThreadFactory("password-hashing-"), new ThreadPoolExecutor.AbortPolicy());
+        this.retryAfterSeconds = Math.max(1, properties.getRetryAfter().toSeconds());
+
+        //executor.queued, executor.active, executor.queue.remaining, ... con tag name=passwordHashing
+        new ExecutorServiceMetrics(executor, EXECUTOR_NAME, Tags.empty()).bindTo(meterRegistry);
+        this.meterRegistry = meterRegistry;
+        this.encodeTimer = hashingTimer("encode", "success");
+        this.matchesSuccessTimer = hashingTimer("matches", "success");
+        this.matchesFailureTimer = hashingTimer("matches", "failure");
+        this.rejectedCounter = Counter.builder("password.hashing.rejected").register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(() -> encodeTimer.record(() -> delegate.encode(rawPassword)));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            boolean matches = delegate.matches(rawPassword, encodedPassword);
+            sample.stop(matches ? matchesSuccessTimer : matchesFailureTimer);
+            return matches;
+        });
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    private Timer hashingTimer(String operation, String outcome) {
+        return Timer.builder("password.hashing.duration").tag("operation", operation).tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private <T> T submit(Callable<T> hashing) {
+        Future<T> future;
+        try {
+            future = executor.submit(hashing);
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw new ServiceBusyException(HttpStatus.SERVICE_UNAVAILABLE,
+                    AuthConstant.PASSWORD_HASHING_BUSY_MESSAGE_ERROR, retryAfterSeconds);
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the password hash", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.tecnova.technical_test.infrastructure.adapter.config;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.function.IntToLongFunction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+//BCrypt con el costo calibrado al iniciar: cada hash guarda su costo ($2a$12$...) y upgradeEncoding pide rehacerlo
+//en el login cuando ese costo es distinto al calibrado (mayor o menor), asi el costo del login es parejo entre nodos
+public class CalibratedBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[abxy]?\\$(\\d\\d)\\$");
+    private static final int SAMPLES = 3;
+
+    private final int strength;
+
+    public CalibratedBCryptPasswordEncoder(int strength) {
+        super(strength);
+        this.strength = strength;
+    }
+
+    public static CalibratedBCryptPasswordEncoder calibrate(PasswordHashingProperties properties) {
+        if (properties.getBcryptStrength() > 0) {
+            return new CalibratedBCryptPasswordEncoder(properties.getBcryptStrength());
+        }
+        return new CalibratedBCryptPasswordEncoder(calibrateStrength(properties.getTargetHashTime(),
+                properties.getMinStrength(), properties.getMaxStrength(), CalibratedBCryptPasswordEncoder::timeHash));
+    }
+
+    //Se mide el costo minimo y se extrapola: cada punto de costo duplica el tiempo del hash
+    static int calibrateStrength(Duration targetHashTime, int minStrength, int maxStrength,
+                                 IntToLongFunction hashNanos) {
+        hashNanos.applyAsLong(minStrength);
+        long fastest = Long.MAX_VALUE;
+        for (int i = 0; i < SAMPLES; i++) {
+            fastest = Math.min(fastest, hashNanos.applyAsLong(minStrength));
+        }
+
+        double doublings = Math.log((double) targetHashTime.toNanos() / Math.max(1, fastest)) / Math.log(2);
+        long strength = minStrength + Math.round(doublings);
+        return (int) Math.max(minStrength, Math.min(maxStrength, strength));
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        return matcher.find() && Integer.parseInt(matcher.group(1)) != strength;
+    }
+
+    private static long timeHash(int strength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        long start = System.nanoTime();
+        encoder.encode("calibration");
+        return System.nanoTime() - start;
+    }
+}
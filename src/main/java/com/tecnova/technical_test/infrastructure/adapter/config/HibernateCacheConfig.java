@@ -0,0 +1,53 @@
+package com.tecnova.technical_test.infrastructure.adapter.config;
+
+import com.github.benmanes.caffeine.jcache.CacheManagerImpl;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.tecnova.technical_test.infrastructure.adapter.entity.TaskStatusEntity;
+import com.tecnova.technical_test.infrastructure.adapter.entity.UserEntity;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.util.OptionalLong;
+import java.util.Properties;
+
+@Configuration
+@RequiredArgsConstructor
+public class HibernateCacheConfig {
+
+    private final EntityCacheProperties entityCacheProperties;
+
+    //CacheManager propio del contexto: el de CachingProvider.getCacheManager() es uno por JVM y Hibernate lo cierra
+    //al detener cualquier SessionFactory, ademas compartiria las regiones entre contextos (ej. tests)
+    @Bean
+    public CacheManager hibernateCacheManager() {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = new CacheManagerImpl(provider, false, provider.getDefaultURI(),
+                provider.getDefaultClassLoader(), new Properties());
+
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>()
+                .setMaximumSize(OptionalLong.of(entityCacheProperties.getMaximumSize()))
+                .setExpireAfterWrite(OptionalLong.of(entityCacheProperties.getTimeToLive().toNanos()));
+        cacheManager.createCache(UserEntity.CACHE_REGION, configuration);
+        cacheManager.createCache(TaskStatusEntity.CACHE_REGION, configuration);
+        return cacheManager;
+    }
+
+    //Las regiones se crean arriba, si una entidad con @Cache no tiene la suya falla el arranque
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+}
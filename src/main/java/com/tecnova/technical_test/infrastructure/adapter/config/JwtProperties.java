@@ -12,4 +12,8 @@ import org.springframework.context.annotation.Configuration;
 public class JwtProperties {
     private String secretKey;
     private long expiration;
+    private long claimsCacheSize = 10_000;
+    private boolean stateless;
+    private long userCacheTtl;
+    private long userCacheSize = 1_000;
 }
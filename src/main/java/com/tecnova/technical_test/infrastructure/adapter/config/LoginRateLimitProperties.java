@@ -0,0 +1,20 @@
+package com.tecnova.technical_test.infrastructure.adapter.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "login-rate-limit")
+@Getter
+@Setter
+public class LoginRateLimitProperties {
+    private boolean enabled = true;
+    private Duration window = Duration.ofMinutes(1);
+    private int maxAttemptsPerUser = 10;
+    private int maxAttemptsPerIp = 100;
+    private long maximumKeys = 100_000;
+}
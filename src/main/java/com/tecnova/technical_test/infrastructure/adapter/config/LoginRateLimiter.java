@@ -0,0 +1,137 @@
+package com.tecnova.technical_test.infrastructure.adapter.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.tecnova.technical_test.domain.model.constant.AuthConstant;
+import com.tecnova.technical_test.infrastructure.adapter.exceptions.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpStatus;
+
+import java.util.concurrent.TimeUnit;
+
+//Ventana deslizante de intentos de login por usuario y por IP, se valida antes de calcular BCrypt.
+//Caffeine acota la cantidad de claves y elimina las ventanas sin intentos recientes
+public class LoginRateLimiter {
+
+    private static final String KEY_USER = "user";
+    private static final String KEY_IP = "ip";
+
+    private final LoginRateLimitProperties properties;
+    private final Ticker ticker;
+    private final long windowNanos;
+    private final Cache<String, SlidingWindow> userWindows;
+    private final Cache<String, SlidingWindow> ipWindows;
+    private final Counter userRejectedCounter;
+    private final Counter ipRejectedCounter;
+
+    public LoginRateLimiter(LoginRateLimitProperties properties, MeterRegistry meterRegistry, Ticker ticker) {
+        this.properties = properties;
+        this.ticker = ticker;
+        this.windowNanos = properties.getWindow().toNanos();
+        this.userWindows = buildCache();
+        this.ipWindows = buildCache();
+
+        this.userRejectedCounter = Counter.builder("login.rate.limit.rejected").tag("key", KEY_USER)
+                .register(meterRegistry);
+        this.ipRejectedCounter = Counter.builder("login.rate.limit.rejected").tag("key", KEY_IP)
+                .register(meterRegistry);
+        Gauge.builder("login.rate.limit.tracked", userWindows, LoginRateLimiter::trackedKeys).tag("key", KEY_USER)
+                .register(meterRegistry);
+        Gauge.builder("login.rate.limit.tracked", ipWindows, LoginRateLimiter::trackedKeys).tag("key", KEY_IP)
+                .register(meterRegistry);
+    }
+
+    public void acquire(String username, String clientIp) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long now = ticker.read();
+        long[] waitNanos = new long[1];
+
+        //Las ventanas solo se leen y modifican dentro de compute de su clave: si Caffeine la expulsa o reset la
+        //invalida, el siguiente intento crea una nueva en vez de registrar en una que ya no esta en el cache.
+        //Se revisan ambas antes de registrar, asi un intento rechazado no consume cupo de la otra.
+        //Siempre se entra primero a la IP y luego al usuario para no generar deadlocks
+        ipWindows.asMap().compute(clientIp, (ip, currentIpWindow) -> {
+            SlidingWindow ipWindow = currentIpWindow != null
+                    ? currentIpWindow : new SlidingWindow(properties.getMaxAttemptsPerIp());
+            userWindows.asMap().compute(username, (user, currentUserWindow) -> {
+                SlidingWindow userWindow = currentUserWindow != null
+                        ? currentUserWindow : new SlidingWindow(properties.getMaxAttemptsPerUser());
+                long ipWaitNanos = ipWindow.waitNanos(now, windowNanos);
+                long userWaitNanos = userWindow.waitNanos(now, windowNanos);
+                waitNanos[0] = Math.max(ipWaitNanos, userWaitNanos);
+                if (waitNanos[0] == 0) {
+                    ipWindow.record(now);
+                    userWindow.record(now);
+                } else {
+                    (ipWaitNanos > 0 ? ipRejectedCounter : userRejectedCounter).increment();
+                }
+                return userWindow;
+            });
+            return ipWindow;
+        });
+        if (waitNanos[0] > 0) {
+            throw tooManyRequests(waitNanos[0]);
+        }
+    }
+
+    //Un login correcto libera la ventana del usuario, la de la IP se mantiene
+    public void reset(String username) {
+        userWindows.invalidate(username);
+    }
+
+    private Cache<String, SlidingWindow> buildCache() {
+        return Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumKeys())
+                .expireAfterAccess(properties.getWindow())
+                .ticker(ticker)
+                .build();
+    }
+
+    //La expiracion de Caffeine es perezosa, se limpia antes de informar la cantidad de claves
+    private static double trackedKeys(Cache<String, SlidingWindow> windows) {
+        windows.cleanUp();
+        return windows.estimatedSize();
+    }
+
+    private TooManyRequestsException tooManyRequests(long waitNanos) {
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        return new TooManyRequestsException(HttpStatus.TOO_MANY_REQUESTS,
+                AuthConstant.LOGIN_RATE_LIMIT_MESSAGE_ERROR, retryAfterSeconds);
+    }
+
+    //Guarda los instantes de los ultimos maxAttempts intentos admitidos en un arreglo circular.
+    //No es thread-safe por si sola, LoginRateLimiter solo la usa dentro de compute de su clave
+    static class SlidingWindow {
+
+        private final long[] attempts;
+        private int next;
+        private int size;
+
+        SlidingWindow(int maxAttempts) {
+            this.attempts = new long[maxAttempts];
+        }
+
+        //0 si se admite el intento, si no los nanos que faltan para que salga de la ventana el intento mas antiguo
+        long waitNanos(long now, long windowNanos) {
+            if (attempts.length == 0) {
+                return windowNanos;
+            }
+            if (size < attempts.length) {
+                return 0;
+            }
+            long elapsed = now - attempts[next];
+            return elapsed < windowNanos ? windowNanos - elapsed : 0;
+        }
+
+        void record(long now) {
+            attempts[next] = now;
+            next = (next + 1) % attempts.length;
+            size = Math.min(size + 1, attempts.length);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.tecnova.technical_test.infrastructure.adapter.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "password-hashing")
+@Getter
+@Setter
+public class PasswordHashingProperties {
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private int queueCapacity = 64;
+    private Duration retryAfter = Duration.ofSeconds(1);
+    //0 = calibrar al iniciar el costo que se acerque a targetHashTime, entre minStrength y maxStrength
+    private int bcryptStrength;
+    private Duration targetHashTime = Duration.ofMillis(100);
+    private int minStrength = 10;
+    private int maxStrength = 16;
+}
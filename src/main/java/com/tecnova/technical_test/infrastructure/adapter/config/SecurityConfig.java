@@ -1,7 +1,14 @@
 package com.tecnova.technical_test.infrastructure.adapter.config;
 
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.tecnova.technical_test.infrastructure.adapter.cache.ReferenceDataEndpoint;
+import com.tecnova.technical_test.infrastructure.adapter.config.jwt.CaffeineUserCache;
 import com.tecnova.technical_test.infrastructure.adapter.config.jwt.JwtAuthenticationFilter;
 import com.tecnova.technical_test.infrastructure.adapter.config.jwt.JwtEntryPoint;
+import com.tecnova.technical_test.infrastructure.adapter.metrics.SlowRequestEndpoint;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.Customizer;
@@ -9,7 +16,8 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.annotation.web.configurers.HeadersConfigurer;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.cache.NullUserCache;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -17,6 +25,7 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.time.Duration;
 import java.util.List;
 
 @Configuration
@@ -30,9 +39,11 @@ public class SecurityConfig {
                 .headers(headers ->
                         headers.frameOptions(HeadersConfigurer.FrameOptionsConfig::sameOrigin))
                 .authorizeHttpRequests(auth -> auth.requestMatchers(
-                                "/app/auth/register", "/app/auth/login", "/h2-console/**",
+                                "/app/auth/register", "/app/auth/login", "/h2-console/**", "/error",
                                 "/swagger-ui/**","/api-docs/**", "/webjars/**", "/swagger-resources/**")
                         .permitAll()
+                        .requestMatchers(EndpointRequest.to(ReferenceDataEndpoint.class, SlowRequestEndpoint.class))
+                        .hasAuthority("ROLE_ADMIN")
                         .anyRequest().authenticated())
                 .httpBasic(Customizer.withDefaults())
                 .exceptionHandling(exception ->
@@ -52,8 +63,28 @@ public class SecurityConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public UserCache userCache(JwtProperties jwtProperties) {
+        if (jwtProperties.getUserCacheTtl() <= 0) {
+            return new NullUserCache();
+        }
+        return new CaffeineUserCache(Duration.ofSeconds(jwtProperties.getUserCacheTtl()),
+                jwtProperties.getUserCacheSize());
+    }
+
+    @Bean
+    public PasswordEncoder passwordEncoder(PasswordHashingProperties passwordHashingProperties,
+                                           MeterRegistry meterRegistry) {
+        CalibratedBCryptPasswordEncoder bcrypt = CalibratedBCryptPasswordEncoder.calibrate(passwordHashingProperties);
+        Gauge.builder("password.hashing.bcrypt.strength", bcrypt, CalibratedBCryptPasswordEncoder::getStrength)
+                .strongReference(true)
+                .register(meterRegistry);
+        return new BoundedPasswordEncoder(bcrypt, passwordHashingProperties, meterRegistry);
+    }
+
+    @Bean
+    public LoginRateLimiter loginRateLimiter(LoginRateLimitProperties loginRateLimitProperties,
+                                             MeterRegistry meterRegistry) {
+        return new LoginRateLimiter(loginRateLimitProperties, meterRegistry, Ticker.systemTicker());
     }
 
     @Bean
@@ -62,7 +93,9 @@ public class SecurityConfig {
 
         configuration.setAllowedOrigins(List.of("http://localhost:4200"));
         configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
-        configuration.setAllowedHeaders(List.of("Authorization", "Content-Type"));
+        configuration.setAllowedHeaders(List.of("Authorization", "Content-Type", "If-None-Match", "If-Match"));
+        //Sin exponerlo el navegador no deja leer el ETag para las lecturas y actualizaciones condicionales
+        configuration.setExposedHeaders(List.of("ETag"));
         configuration.setAllowCredentials(true);
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
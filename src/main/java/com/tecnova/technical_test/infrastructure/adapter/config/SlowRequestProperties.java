@@ -0,0 +1,17 @@
+package com.tecnova.technical_test.infrastructure.adapter.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "slow-requests")
+@Getter
+@Setter
+public class SlowRequestProperties {
+    private Duration threshold = Duration.ofMillis(500);
+    private int capacity = 100;
+}
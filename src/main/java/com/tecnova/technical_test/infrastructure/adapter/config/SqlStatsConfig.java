@@ -0,0 +1,79 @@
+package com.tecnova.technical_test.infrastructure.adapter.config;
+
+import com.tecnova.technical_test.infrastructure.adapter.metrics.SlowRequestEndpoint;
+import com.tecnova.technical_test.infrastructure.adapter.metrics.SlowRequestRecorder;
+import com.tecnova.technical_test.infrastructure.adapter.metrics.SqlRequestStatsFilter;
+import com.tecnova.technical_test.infrastructure.adapter.metrics.SqlRequestUserFilter;
+import com.tecnova.technical_test.infrastructure.adapter.metrics.SqlStatsCallableInterceptor;
+import com.tecnova.technical_test.infrastructure.adapter.metrics.SqlStatsListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+
+@Configuration
+@ConditionalOnProperty(prefix = "sql-stats", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SqlStatsConfig implements WebMvcConfigurer {
+
+    //Con datasource-proxy se cuentan tambien las sentencias que no pasan por Hibernate (cursor del export, batch JDBC).
+    //El cursor del export se lee en el executor asincrono, SqlStatsCallableInterceptor le asocia la peticion
+    @Bean
+    public static BeanPostProcessor sqlStatsDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource) {
+                    return ProxyDataSourceBuilder.create(beanName, dataSource)
+                            .listener(new SqlStatsListener())
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.registerCallableInterceptors(new SqlStatsCallableInterceptor());
+    }
+
+    @Bean
+    public SlowRequestRecorder slowRequestRecorder(SlowRequestProperties slowRequestProperties) {
+        return new SlowRequestRecorder(slowRequestProperties.getCapacity(),
+                slowRequestProperties.getThreshold().toNanos());
+    }
+
+    @Bean
+    public SlowRequestEndpoint slowRequestEndpoint(SlowRequestRecorder slowRequestRecorder) {
+        return new SlowRequestEndpoint(slowRequestRecorder);
+    }
+
+    //Despues de la observacion HTTP y antes de Spring Security, asi se cuentan las consultas del filtro JWT
+    @Bean
+    public FilterRegistrationBean<SqlRequestStatsFilter> sqlRequestStatsFilter(SqlStatsProperties sqlStatsProperties,
+                                                                               MeterRegistry meterRegistry,
+                                                                               SlowRequestRecorder slowRequestRecorder) {
+        FilterRegistrationBean<SqlRequestStatsFilter> registration = new FilterRegistrationBean<>(
+                new SqlRequestStatsFilter(sqlStatsProperties, meterRegistry, slowRequestRecorder));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        return registration;
+    }
+
+    //Dentro de la cadena de Spring Security, que limpia el SecurityContext antes de volver a SqlRequestStatsFilter
+    @Bean
+    public FilterRegistrationBean<SqlRequestUserFilter> sqlRequestUserFilter() {
+        FilterRegistrationBean<SqlRequestUserFilter> registration = new FilterRegistrationBean<>(
+                new SqlRequestUserFilter());
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 1);
+        return registration;
+    }
+}
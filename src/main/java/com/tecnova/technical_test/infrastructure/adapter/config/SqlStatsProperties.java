@@ -0,0 +1,20 @@
+package com.tecnova.technical_test.infrastructure.adapter.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "sql-stats")
+@Getter
+@Setter
+public class SqlStatsProperties {
+    private boolean enabled = true;
+    private boolean serverTiming = true;
+    private int logThresholdStatements = 20;
+    private Duration logThresholdDuration = Duration.ofMillis(200);
+    private int maxLoggedStatements = 50;
+}
@@ -0,0 +1,17 @@
+package com.tecnova.technical_test.infrastructure.adapter.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "task.cache")
+@Getter
+@Setter
+public class TaskCacheProperties {
+    private long maximumSize = 1_000;
+    private Duration timeToLive = Duration.ofSeconds(60);
+}
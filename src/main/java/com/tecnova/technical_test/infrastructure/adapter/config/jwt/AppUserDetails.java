@@ -0,0 +1,21 @@
+package com.tecnova.technical_test.infrastructure.adapter.config.jwt;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collection;
+
+@Getter
+@EqualsAndHashCode(callSuper = true)
+public class AppUserDetails extends User {
+
+    private final int tokenVersion;
+
+    public AppUserDetails(String username, String password, Collection<? extends GrantedAuthority> authorities,
+                          int tokenVersion) {
+        super(username, password, authorities);
+        this.tokenVersion = tokenVersion;
+    }
+}
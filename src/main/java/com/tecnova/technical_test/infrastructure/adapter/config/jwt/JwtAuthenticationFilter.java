@@ -1,6 +1,8 @@
 package com.tecnova.technical_test.infrastructure.adapter.config.jwt;
 
 import com.tecnova.technical_test.application.service.AppUserService;
+import com.tecnova.technical_test.infrastructure.adapter.config.JwtProperties;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -9,6 +11,7 @@ import lombok.NoArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserCache;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -24,6 +27,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private AppUserService appUserService;
 
+    @Autowired
+    private JwtProperties jwtProperties;
+
+    @Autowired
+    private UserCache userCache;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
@@ -31,19 +39,22 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         final String authorizationHeader = request.getHeader("Authorization");
 
         String userName = null;
-        String jwt = null;
+        Claims claims = null;
 
         if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")){
-            jwt = authorizationHeader.substring(7);
-            userName = jwtUtil.extractUserName(jwt);
+            //El token se parsea una sola vez por peticion
+            claims = jwtUtil.extractAllClaims(authorizationHeader.substring(7));
+            userName = claims.getSubject();
         }
 
         if (userName != null && SecurityContextHolder.getContext().getAuthentication() == null){
-            UserDetails userDetails = appUserService.loadUserByUsername(userName);
+            //En modo stateless los roles salen del token y no se consulta la BD
+            UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken =
+                    jwtProperties.isStateless() && jwtUtil.hasAuthorities(claims)
+                            ? authenticationFromClaims(claims)
+                            : authenticationFromUser(claims, userName);
 
-            if (jwtUtil.validateToken(jwt, userDetails)){
-                UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken =
-                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+            if (usernamePasswordAuthenticationToken != null){
                 usernamePasswordAuthenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(usernamePasswordAuthenticationToken);
             }
@@ -51,4 +62,35 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
 
     }
+
+    private UsernamePasswordAuthenticationToken authenticationFromClaims(Claims claims) {
+        if (!jwtUtil.validateToken(claims)) {
+            return null;
+        }
+        return new UsernamePasswordAuthenticationToken(claims.getSubject(), null, jwtUtil.extractAuthorities(claims));
+    }
+
+    private UsernamePasswordAuthenticationToken authenticationFromUser(Claims claims, String userName) {
+        UserDetails userDetails = loadUser(userName);
+
+        if (!jwtUtil.validateToken(claims, userDetails) || !hasCurrentTokenVersion(claims, userDetails)) {
+            return null;
+        }
+        return new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+    }
+
+    private UserDetails loadUser(String userName) {
+        UserDetails userDetails = userCache.getUserFromCache(userName);
+        if (userDetails == null) {
+            userDetails = appUserService.loadUserByUsername(userName);
+            userCache.putUserInCache(userDetails);
+        }
+        return userDetails;
+    }
+
+    //Un token emitido antes de incrementar token_version queda revocado
+    private boolean hasCurrentTokenVersion(Claims claims, UserDetails userDetails) {
+        return !(userDetails instanceof AppUserDetails appUser)
+                || jwtUtil.extractTokenVersion(claims) == appUser.getTokenVersion();
+    }
 }
@@ -1,33 +1,65 @@
 package com.tecnova.technical_test.infrastructure.adapter.config.jwt;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.tecnova.technical_test.infrastructure.adapter.config.JwtProperties;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Collections;
 import java.util.Date;
+import java.util.List;
 
 @Component
 public class JwtUtil {
 
+    public static final String ROLES_CLAIM = "roles";
+    public static final String VERSION_CLAIM = "ver";
+
     private final JwtProperties jwtProperties;
+    private final SecretKey key;
+    private final JwtParser jwtParser;
+    private final Cache<String, Claims> claimsCache;
 
     @Autowired
     public JwtUtil(JwtProperties jwtProperties) {
         this.jwtProperties = jwtProperties;
+        //La llave y el parser son inmutables, se construyen una sola vez
+        this.key = Keys.hmacShaKeyFor(jwtProperties.getSecretKey().getBytes(StandardCharsets.UTF_8));
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .setAllowedClockSkewSeconds(300)
+                .build();
+        //Cada entrada vive hasta la expiracion del token, asi un token vencido nunca se sirve desde cache
+        this.claimsCache = jwtProperties.getClaimsCacheSize() <= 0 ? null : Caffeine.newBuilder()
+                .maximumSize(jwtProperties.getClaimsCacheSize())
+                .expireAfter(Expiry.creating((String tokenHash, Claims claims) -> timeToExpiration(claims)))
+                .build();
     }
 
     public String generateToken(Authentication authentication){
         UserDetails mainUser = (UserDetails) authentication.getPrincipal();
-        SecretKey key = Keys.hmacShaKeyFor(jwtProperties.getSecretKey().getBytes(StandardCharsets.UTF_8));
+        int tokenVersion = mainUser instanceof AppUserDetails appUser ? appUser.getTokenVersion() : 0;
+        List<String> roles = mainUser.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList();
         return Jwts.builder().setSubject(mainUser.getUsername())
+                .claim(ROLES_CLAIM, roles)
+                .claim(VERSION_CLAIM, tokenVersion)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(new Date().getTime() + jwtProperties.getExpiration() * 1000L))
                 .signWith(key, SignatureAlgorithm.HS256)
@@ -35,12 +67,19 @@ public class JwtUtil {
     }
 
     public Boolean validateToken(String token, UserDetails userDetails){
-        final String userName = extractUserName(token);
-        return (userName.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        return validateToken(extractAllClaims(token), userDetails);
+    }
+
+    public Boolean validateToken(Claims claims, UserDetails userDetails){
+        return (claims.getSubject().equals(userDetails.getUsername()) && !isTokenExpired(claims));
+    }
+
+    public Boolean validateToken(Claims claims){
+        return claims.getSubject() != null && !isTokenExpired(claims);
     }
 
     public Boolean isTokenExpired(String token){
-        return extractExpiration(token).before(new Date());
+        return isTokenExpired(extractAllClaims(token));
     }
 
     public Date extractExpiration(String token){
@@ -48,16 +87,52 @@ public class JwtUtil {
     }
 
     public Claims extractAllClaims(String token){
-        SecretKey key = Keys.hmacShaKeyFor(jwtProperties.getSecretKey().getBytes(StandardCharsets.UTF_8));
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .setAllowedClockSkewSeconds(300)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        if (claimsCache == null) {
+            return jwtParser.parseClaimsJws(token).getBody();
+        }
+        //Solo se verifica la firma HMAC la primera vez que se ve el token
+        return claimsCache.get(hash(token), tokenHash -> jwtParser.parseClaimsJws(token).getBody());
     }
 
     public String extractUserName(String token){
         return extractAllClaims(token).getSubject();
     }
+
+    public List<SimpleGrantedAuthority> extractAuthorities(Claims claims){
+        List<?> roles = claims.get(ROLES_CLAIM, List.class);
+        if (roles == null) {
+            return Collections.emptyList();
+        }
+        return roles.stream().map(role -> new SimpleGrantedAuthority(role.toString())).toList();
+    }
+
+    public boolean hasAuthorities(Claims claims){
+        return claims.containsKey(ROLES_CLAIM);
+    }
+
+    public int extractTokenVersion(Claims claims){
+        Integer tokenVersion = claims.get(VERSION_CLAIM, Integer.class);
+        return tokenVersion == null ? 0 : tokenVersion;
+    }
+
+    private Boolean isTokenExpired(Claims claims){
+        return claims.getExpiration().before(new Date());
+    }
+
+    private Duration timeToExpiration(Claims claims) {
+        if (claims.getExpiration() == null) {
+            return Duration.ZERO;
+        }
+        long millis = claims.getExpiration().getTime() - System.currentTimeMillis();
+        return Duration.ofMillis(Math.max(millis, 0));
+    }
+
+    private String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 }
@@ -38,6 +38,9 @@ public class AppUserEntity {
     @JoinColumn(name = "role_id", nullable = false)
     private RoleEntity role;
 
+    @Column(name = "token_version", nullable = false)
+    private int tokenVersion;
+
     public AppUserEntity(String userName, String password, RoleEntity role) {
         this.userName = userName;
         this.password = password;
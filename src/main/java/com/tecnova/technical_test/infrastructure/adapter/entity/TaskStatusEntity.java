@@ -10,6 +10,9 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Immutable;
 
 import java.util.List;
 
@@ -19,8 +22,13 @@ import java.util.List;
 @AllArgsConstructor
 @Entity
 @Table(name = "estados_tarea")
+//Los estados solo se cargan con data.sql, la aplicacion no los modifica
+@Immutable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = TaskStatusEntity.CACHE_REGION)
 public class TaskStatusEntity {
 
+    public static final String CACHE_REGION = "estados_tarea";
+
     @Id
     private Long id;
 
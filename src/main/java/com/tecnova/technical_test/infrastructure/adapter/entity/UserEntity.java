@@ -12,6 +12,8 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.List;
 
@@ -21,8 +23,11 @@ import java.util.List;
 @AllArgsConstructor
 @Entity
 @Table(name = "usuarios")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = UserEntity.CACHE_REGION)
 public class UserEntity {
 
+    public static final String CACHE_REGION = "usuarios";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
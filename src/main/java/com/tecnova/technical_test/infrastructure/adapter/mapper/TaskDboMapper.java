@@ -2,6 +2,7 @@ package com.tecnova.technical_test.infrastructure.adapter.mapper;
 
 import com.tecnova.technical_test.domain.model.Task;
 import com.tecnova.technical_test.infrastructure.adapter.entity.TaskEntity;
+import com.tecnova.technical_test.infrastructure.adapter.entity.TaskStatusEntity;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
@@ -17,8 +18,21 @@ public interface TaskDboMapper {
     @Mapping(source = "userEntity.name", target = "nameUser")
     @Mapping(source = "taskStatusEntity.id", target = "idTaskStatus")
     @Mapping(source = "taskStatusEntity.description", target = "descriptionTaskStatus")
+    @Mapping(source = "version", target = "version")
     Task toDomain(TaskEntity entity);
 
+    //El estado llega aparte (desde el cache) para no inicializar la referencia lazy de la entidad
+    @Mapping(source = "entity.id", target = "id")
+    @Mapping(source = "entity.title", target = "title")
+    @Mapping(source = "entity.description", target = "description")
+    @Mapping(source = "entity.limitDate", target = "limitDate")
+    @Mapping(source = "entity.userEntity.id", target = "idUser")
+    @Mapping(source = "entity.userEntity.name", target = "nameUser")
+    @Mapping(source = "taskStatus.id", target = "idTaskStatus")
+    @Mapping(source = "taskStatus.description", target = "descriptionTaskStatus")
+    @Mapping(source = "entity.version", target = "version")
+    Task toDomain(TaskEntity entity, TaskStatusEntity taskStatus);
+
     @Mapping(source = "id", target = "id")
     @Mapping(source = "title", target = "title")
     @Mapping(source = "description", target = "description")
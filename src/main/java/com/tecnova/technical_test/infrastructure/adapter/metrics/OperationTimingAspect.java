@@ -0,0 +1,119 @@
+package com.tecnova.technical_test.infrastructure.adapter.metrics;
+
+import com.tecnova.technical_test.infrastructure.adapter.exceptions.ResourceNotFoundException;
+import com.tecnova.technical_test.infrastructure.adapter.exceptions.TaskException;
+import com.tecnova.technical_test.infrastructure.adapter.exceptions.TaskStatusException;
+import com.tecnova.technical_test.infrastructure.adapter.exceptions.TaskVersionException;
+import com.tecnova.technical_test.infrastructure.adapter.exceptions.UserException;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+
+//Timers por operacion y resultado para separar la latencia del servicio, el adaptador JPA, el JWT y la busqueda del
+//usuario. Los histogramas para Prometheus se activan con management.metrics.distribution.percentiles-histogram.
+//El tiempo de servicio y persistencia tambien se suma a la peticion en curso para SlowRequestRecorder
+@Aspect
+@Component
+public class OperationTimingAspect {
+
+    public static final String TASK_SERVICE_TIMER = "task.service.duration";
+    public static final String TASK_PORT_TIMER = "task.port.duration";
+    public static final String JWT_TIMER = "jwt.duration";
+    public static final String USER_LOOKUP_TIMER = "user.lookup.duration";
+
+    static final String OUTCOME_SUCCESS = "success";
+    static final String OUTCOME_FAILURE = "failure";
+    static final String OUTCOME_NOT_FOUND = "not_found";
+    static final String OUTCOME_CONFLICT = "conflict";
+    static final String OUTCOME_INVALID = "invalid";
+    static final String OUTCOME_ERROR = "error";
+
+    private final MeterRegistry meterRegistry;
+
+    public OperationTimingAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(* com.tecnova.technical_test.application.usecase.ITaskService.*(..))")
+    public Object timeTaskService(ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = System.nanoTime();
+        try {
+            return time(TASK_SERVICE_TIMER, joinPoint);
+        } finally {
+            SqlRequestStats stats = SqlRequestStats.current();
+            if (stats != null) {
+                stats.addServiceTime(System.nanoTime() - start);
+            }
+        }
+    }
+
+    //El decorador con cache no se mide, asi task.port.duration y el tiempo de persistencia son solo de la BD
+    @Around("execution(* com.tecnova.technical_test.domain.port.ITaskPort.*(..))"
+            + " && !within(com.tecnova.technical_test.infrastructure.adapter.cache.CachedTaskAdapter)")
+    public Object timeTaskPort(ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = System.nanoTime();
+        try {
+            return time(TASK_PORT_TIMER, joinPoint);
+        } finally {
+            SqlRequestStats stats = SqlRequestStats.current();
+            if (stats != null) {
+                stats.addPersistenceTime(System.nanoTime() - start);
+            }
+        }
+    }
+
+    //extractAllClaims parsea y verifica la firma (o la toma del cache de claims), validateToken revisa expiracion
+    @Around("execution(* com.tecnova.technical_test.infrastructure.adapter.config.jwt.JwtUtil.extractAllClaims(..))"
+            + " || execution(* com.tecnova.technical_test.infrastructure.adapter.config.jwt.JwtUtil.validateToken(..))"
+            + " || execution(* com.tecnova.technical_test.infrastructure.adapter.config.jwt.JwtUtil.generateToken(..))")
+    public Object timeJwt(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(JWT_TIMER, joinPoint);
+    }
+
+    @Around("execution(* com.tecnova.technical_test.application.service.AppUserService.loadUserByUsername(..))")
+    public Object timeUserLookup(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(USER_LOOKUP_TIMER, joinPoint);
+    }
+
+    private Object time(String timerName, ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = OUTCOME_SUCCESS;
+        String exception = "none";
+        try {
+            Object result = joinPoint.proceed();
+            if (Boolean.FALSE.equals(result)) {
+                outcome = OUTCOME_FAILURE;
+            }
+            return result;
+        } catch (Throwable ex) {
+            outcome = outcome(ex);
+            exception = ex.getClass().getSimpleName();
+            throw ex;
+        } finally {
+            sample.stop(Timer.builder(timerName)
+                    .tag("operation", joinPoint.getSignature().getName())
+                    .tag("outcome", outcome)
+                    .tag("exception", exception)
+                    .register(meterRegistry));
+        }
+    }
+
+    static String outcome(Throwable ex) {
+        if (ex instanceof TaskException || ex instanceof UserException || ex instanceof TaskStatusException
+                || ex instanceof ResourceNotFoundException || ex instanceof UsernameNotFoundException) {
+            return OUTCOME_NOT_FOUND;
+        }
+        if (ex instanceof TaskVersionException) {
+            return OUTCOME_CONFLICT;
+        }
+        if (ex instanceof JwtException) {
+            return OUTCOME_INVALID;
+        }
+        return OUTCOME_ERROR;
+    }
+}
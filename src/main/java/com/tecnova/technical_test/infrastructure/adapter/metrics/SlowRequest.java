@@ -0,0 +1,24 @@
+package com.tecnova.technical_test.infrastructure.adapter.metrics;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+@AllArgsConstructor
+@Getter
+public class SlowRequest {
+    private Instant timestamp;
+    private String method;
+    private String path;
+    private String uri;
+    private int status;
+    private String user;
+    private double totalMillis;
+    //filter, service, persistence, sql y serialization en milisegundos
+    private Map<String, Double> timingsMillis;
+    private int sqlCount;
+    private List<SqlStatement> sql;
+}
@@ -0,0 +1,32 @@
+package com.tecnova.technical_test.infrastructure.adapter.metrics;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Endpoint(id = "slowrequests")
+public class SlowRequestEndpoint {
+
+    private final SlowRequestRecorder slowRequestRecorder;
+
+    public SlowRequestEndpoint(SlowRequestRecorder slowRequestRecorder) {
+        this.slowRequestRecorder = slowRequestRecorder;
+    }
+
+    @ReadOperation
+    public Map<String, Object> slowRequests() {
+        Map<String, Object> slowRequests = new LinkedHashMap<>();
+        slowRequests.put("recorded", slowRequestRecorder.getRecorded());
+        slowRequests.put("requests", slowRequestRecorder.recent());
+        return slowRequests;
+    }
+
+    //DELETE /actuator/slowrequests vacia el buffer
+    @DeleteOperation
+    public void clear() {
+        slowRequestRecorder.clear();
+    }
+}
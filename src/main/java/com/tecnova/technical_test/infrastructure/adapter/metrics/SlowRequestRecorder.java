@@ -0,0 +1,49 @@
+package com.tecnova.technical_test.infrastructure.adapter.metrics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+//Buffer circular con las ultimas N peticiones lentas, al llenarse se reemplaza la mas antigua
+public class SlowRequestRecorder {
+
+    private final SlowRequest[] buffer;
+    private final long thresholdNanos;
+    private long recorded;
+
+    public SlowRequestRecorder(int capacity, long thresholdNanos) {
+        this.buffer = new SlowRequest[capacity];
+        this.thresholdNanos = thresholdNanos;
+    }
+
+    public boolean isSlow(long elapsedNanos) {
+        return buffer.length > 0 && elapsedNanos >= thresholdNanos;
+    }
+
+    public synchronized void record(SlowRequest slowRequest) {
+        if (buffer.length == 0) {
+            return;
+        }
+        buffer[(int) (recorded % buffer.length)] = slowRequest;
+        recorded++;
+    }
+
+    //La mas reciente primero
+    public synchronized List<SlowRequest> recent() {
+        int size = (int) Math.min(recorded, buffer.length);
+        List<SlowRequest> recent = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            recent.add(buffer[(int) ((recorded - i) % buffer.length)]);
+        }
+        return recent;
+    }
+
+    public synchronized long getRecorded() {
+        return recorded;
+    }
+
+    public synchronized void clear() {
+        Arrays.fill(buffer, null);
+        recorded = 0;
+    }
+}
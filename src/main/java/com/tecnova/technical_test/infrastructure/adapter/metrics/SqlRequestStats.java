@@ -0,0 +1,118 @@
+package com.tecnova.technical_test.infrastructure.adapter.metrics;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+//Sentencias SQL y tiempos de la peticion HTTP en curso, SqlRequestStatsFilter la asocia al hilo que atiende la peticion
+//y SqlStatsCallableInterceptor al hilo asincrono que escribe las respuestas en streaming
+public class SqlRequestStats {
+
+    private static final ThreadLocal<SqlRequestStats> CURRENT = new ThreadLocal<>();
+
+    private final int maxLoggedStatements;
+    private final long startNanos;
+    private final List<SqlStatement> statements = new ArrayList<>();
+    private int count;
+    private long elapsedNanos;
+    private long serviceNanos;
+    private long persistenceNanos;
+    private long bodyWriteNanos;
+    private String user;
+
+    SqlRequestStats(int maxLoggedStatements) {
+        this.maxLoggedStatements = maxLoggedStatements;
+        this.startNanos = System.nanoTime();
+    }
+
+    static SqlRequestStats start(int maxLoggedStatements) {
+        SqlRequestStats stats = new SqlRequestStats(maxLoggedStatements);
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static void bind(SqlRequestStats stats) {
+        CURRENT.set(stats);
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    public static SqlRequestStats current() {
+        return CURRENT.get();
+    }
+
+    public void record(String sql, long elapsedNanos) {
+        count++;
+        this.elapsedNanos += elapsedNanos;
+        if (statements.size() < maxLoggedStatements) {
+            statements.add(new SqlStatement(sql, millis(elapsedNanos)));
+        }
+    }
+
+    public void addServiceTime(long nanos) {
+        serviceNanos += nanos;
+    }
+
+    public void addPersistenceTime(long nanos) {
+        persistenceNanos += nanos;
+    }
+
+    //Desde aqui hasta el final de la peticion se cuenta como serializacion del body
+    public void bodyWriteStarted() {
+        if (bodyWriteNanos == 0) {
+            bodyWriteNanos = System.nanoTime();
+        }
+    }
+
+    public void setUser(String user) {
+        this.user = user;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public double getElapsedMillis() {
+        return millis(elapsedNanos);
+    }
+
+    public List<SqlStatement> getStatements() {
+        return statements;
+    }
+
+    public long getStartNanos() {
+        return startNanos;
+    }
+
+    public long getServiceNanos() {
+        return serviceNanos;
+    }
+
+    public long getPersistenceNanos() {
+        return persistenceNanos;
+    }
+
+    public long getBodyWriteNanos() {
+        return bodyWriteNanos;
+    }
+
+    public String getUser() {
+        return user;
+    }
+
+    public String serverTiming() {
+        return "db;dur=" + BigDecimal.valueOf(getElapsedMillis()).stripTrailingZeros().toPlainString()
+                + ";desc=\"" + count + " statements\"";
+    }
+
+    //Milisegundos con precision de microsegundos
+    static double millis(long nanos) {
+        return Math.round(nanos / 1_000.0) / 1_000.0;
+    }
+}
@@ -0,0 +1,154 @@
+package com.tecnova.technical_test.infrastructure.adapter.metrics;
+
+import com.tecnova.technical_test.infrastructure.adapter.config.SqlStatsProperties;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+//Acumula las sentencias SQL de cada peticion, las publica como metricas y en el header Server-Timing, registra
+//el SQL de las peticiones que superan los umbrales para detectar N+1 antes de produccion y guarda las lentas
+//en SlowRequestRecorder
+public class SqlRequestStatsFilter extends OncePerRequestFilter {
+
+    public static final String SERVER_TIMING_HEADER = "Server-Timing";
+    public static final String STATS_ATTRIBUTE = SqlRequestStats.class.getName();
+
+    private static final Logger logger = LoggerFactory.getLogger(SqlRequestStatsFilter.class);
+
+    private final SqlStatsProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final SlowRequestRecorder slowRequestRecorder;
+
+    public SqlRequestStatsFilter(SqlStatsProperties properties, MeterRegistry meterRegistry,
+                                 SlowRequestRecorder slowRequestRecorder) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.slowRequestRecorder = slowRequestRecorder;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        SqlRequestStats stats = SqlRequestStats.start(properties.getMaxLoggedStatements());
+        request.setAttribute(STATS_ATTRIBUTE, stats);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlRequestStats.clear();
+            //Una respuesta asincrona (export NDJSON) sigue en otro hilo, se registra cuando termina la peticion
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new CompletionListener(request, response, stats));
+            } else {
+                complete(request, response, stats);
+            }
+        }
+    }
+
+    private void complete(HttpServletRequest request, HttpServletResponse response, SqlRequestStats stats) {
+        //Las respuestas con body ya llevan el header desde ServerTimingAdvice
+        if (properties.isServerTiming() && !response.isCommitted()) {
+            response.setHeader(SERVER_TIMING_HEADER, stats.serverTiming());
+        }
+        long endNanos = System.nanoTime();
+        String uri = uri(request);
+        record(request, uri, stats);
+        if (slowRequestRecorder.isSlow(endNanos - stats.getStartNanos())) {
+            slowRequestRecorder.record(slowRequest(request, response, uri, stats, endNanos));
+        }
+    }
+
+    private String uri(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern == null ? "UNKNOWN" : pattern.toString();
+    }
+
+    private void record(HttpServletRequest request, String uri, SqlRequestStats stats) {
+        DistributionSummary.builder("http.server.sql.statements")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.getCount());
+        Timer.builder("http.server.sql.duration")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.getElapsedNanos(), TimeUnit.NANOSECONDS);
+
+        if (stats.getCount() > properties.getLogThresholdStatements()
+                || stats.getElapsedNanos() > properties.getLogThresholdDuration().toNanos()) {
+            logger.warn("{} {} executed {} SQL statements in {} ms:\n{}", request.getMethod(),
+                    request.getRequestURI(), stats.getCount(), stats.getElapsedMillis(),
+                    stats.getStatements().stream().map(SqlStatement::getSql).collect(Collectors.joining("\n")));
+        }
+    }
+
+    //filter = filtros, seguridad y controlador; service sin la persistencia; persistence incluye el tiempo de sql
+    private SlowRequest slowRequest(HttpServletRequest request, HttpServletResponse response, String uri,
+                                    SqlRequestStats stats, long endNanos) {
+        long totalNanos = endNanos - stats.getStartNanos();
+        long serializationNanos = stats.getBodyWriteNanos() == 0 ? 0 : endNanos - stats.getBodyWriteNanos();
+        long serviceNanos = stats.getServiceNanos();
+        long persistenceNanos = stats.getPersistenceNanos();
+
+        Map<String, Double> timings = new LinkedHashMap<>();
+        timings.put("filter", SqlRequestStats.millis(Math.max(0, totalNanos - Math.max(serviceNanos, persistenceNanos)
+                - serializationNanos)));
+        timings.put("service", SqlRequestStats.millis(Math.max(0, serviceNanos - persistenceNanos)));
+        timings.put("persistence", SqlRequestStats.millis(persistenceNanos));
+        timings.put("sql", stats.getElapsedMillis());
+        timings.put("serialization", SqlRequestStats.millis(serializationNanos));
+
+        return new SlowRequest(Instant.now(), request.getMethod(), request.getRequestURI(), uri, response.getStatus(),
+                stats.getUser() == null ? "anonymous" : stats.getUser(), SqlRequestStats.millis(totalNanos), timings,
+                stats.getCount(), List.copyOf(stats.getStatements()));
+    }
+
+    //onComplete tambien se invoca despues de un timeout o error, por eso es el unico punto de registro
+    private class CompletionListener implements AsyncListener {
+
+        private final HttpServletRequest request;
+        private final HttpServletResponse response;
+        private final SqlRequestStats stats;
+
+        CompletionListener(HttpServletRequest request, HttpServletResponse response, SqlRequestStats stats) {
+            this.request = request;
+            this.response = response;
+            this.stats = stats;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            complete(request, response, stats);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.tecnova.technical_test.infrastructure.adapter.metrics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+//Guarda el usuario autenticado en SqlRequestStats para SlowRequestRecorder, tambien en respuestas sin body (204, 304, 412)
+public class SqlRequestUserFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlRequestStats stats = SqlRequestStats.current();
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (stats != null && authentication != null && !(authentication instanceof AnonymousAuthenticationToken)) {
+                stats.setUser(authentication.getName());
+            }
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.tecnova.technical_test.infrastructure.adapter.metrics;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@AllArgsConstructor
+@Getter
+public class SqlStatement {
+    private String sql;
+    private double elapsedMillis;
+}
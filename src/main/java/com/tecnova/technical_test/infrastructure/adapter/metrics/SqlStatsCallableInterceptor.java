@@ -0,0 +1,25 @@
+package com.tecnova.technical_test.infrastructure.adapter.metrics;
+
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+
+import java.util.concurrent.Callable;
+
+//Los StreamingResponseBody se ejecutan en el executor asincrono de Spring MVC, fuera del hilo de SqlRequestStatsFilter.
+//Asocia las estadisticas de la peticion a ese hilo mientras se escribe la respuesta
+public class SqlStatsCallableInterceptor implements CallableProcessingInterceptor {
+
+    @Override
+    public <T> void preProcess(NativeWebRequest request, Callable<T> task) {
+        Object stats = request.getAttribute(SqlRequestStatsFilter.STATS_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (stats instanceof SqlRequestStats sqlRequestStats) {
+            SqlRequestStats.bind(sqlRequestStats);
+        }
+    }
+
+    @Override
+    public <T> void postProcess(NativeWebRequest request, Callable<T> task, Object concurrentResult) {
+        SqlRequestStats.clear();
+    }
+}
@@ -0,0 +1,36 @@
+package com.tecnova.technical_test.infrastructure.adapter.metrics;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+//Cuenta cada ejecucion JDBC (un batch es un solo viaje a la BD) en las estadisticas de la peticion actual
+public class SqlStatsListener implements QueryExecutionListener {
+
+    private static final String START_NANOS = SqlStatsListener.class.getName() + ".startNanos";
+
+    //getElapsedTime() viene truncado a milisegundos y en H2 embebido casi todas las sentencias duran menos de 1 ms
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        execInfo.addCustomValue(START_NANOS, System.nanoTime());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        SqlRequestStats stats = SqlRequestStats.current();
+        if (stats == null || queryInfoList.isEmpty()) {
+            return;
+        }
+        String sql = queryInfoList.get(0).getQuery();
+        if (execInfo.isBatch()) {
+            sql = sql + " [batch " + execInfo.getBatchSize() + "]";
+        }
+        Long startNanos = execInfo.getCustomValue(START_NANOS, Long.class);
+        stats.record(sql, startNanos == null
+                ? TimeUnit.MILLISECONDS.toNanos(execInfo.getElapsedTime())
+                : System.nanoTime() - startNanos);
+    }
+}
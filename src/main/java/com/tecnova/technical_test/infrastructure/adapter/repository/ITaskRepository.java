@@ -1,9 +1,54 @@
 package com.tecnova.technical_test.infrastructure.adapter.repository;
 
+import com.tecnova.technical_test.domain.model.dto.TaskDto;
 import com.tecnova.technical_test.infrastructure.adapter.entity.TaskEntity;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
-public interface ITaskRepository extends JpaRepository<TaskEntity, Long> {
+public interface ITaskRepository extends JpaRepository<TaskEntity, Long>, JpaSpecificationExecutor<TaskEntity>,
+        ITaskVersionRepository {
+
+    String TASK_DTO_PROJECTION = "select new com.tecnova.technical_test.domain.model.dto.TaskDto("
+            + "t.id, t.title, t.description, t.limitDate, u.id, u.name, s.id, s.description, t.version) "
+            + "from TaskEntity t join t.userEntity u join t.taskStatusEntity s";
+
+    @EntityGraph(attributePaths = {"userEntity", "taskStatusEntity"})
+    Optional<TaskEntity> findWithRelationsById(Long id);
+
+    @Query(TASK_DTO_PROJECTION + " where t.id = :id")
+    Optional<TaskDto> findDtoById(@Param("id") Long id);
+
+    @Query(TASK_DTO_PROJECTION + " where t.id in :ids")
+    List<TaskDto> findAllDtoByIds(@Param("ids") Collection<Long> ids);
+
+    @Query("select t.version from TaskEntity t where t.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Query(TASK_DTO_PROJECTION + " order by t.id")
+    List<TaskDto> findAllDto();
+
+    //Pagina por keyset para la exportacion: H2 materializa el resultado completo de esta consulta (join y order by)
+    //aunque se lea con un cursor, por eso se recorre en paginas de a lo sumo limit filas
+    @Query(TASK_DTO_PROJECTION + " where t.id > :after order by t.id")
+    List<TaskDto> findDtoPageAfter(@Param("after") Long after, Limit limit);
+
+    //DELETE directo, devuelve la cantidad de filas eliminadas sin cargar la entidad
+    @Modifying
+    @Query("delete from TaskEntity t where t.id = :id")
+    int deleteTaskById(@Param("id") Long id);
+
+    @Modifying
+    @Query("delete from TaskEntity t where t.id in :ids")
+    int deleteTasksByIds(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,15 @@
+package com.tecnova.technical_test.infrastructure.adapter.repository;
+
+import com.tecnova.technical_test.domain.model.Task;
+import com.tecnova.technical_test.domain.model.TaskVersion;
+import com.tecnova.technical_test.infrastructure.adapter.entity.TaskEntity;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface ITaskVersionRepository {
+
+    List<TaskVersion> findVersions(Specification<TaskEntity> specification, int limit);
+
+    int updateTask(Long id, Task changes, Long expectedVersion);
+}
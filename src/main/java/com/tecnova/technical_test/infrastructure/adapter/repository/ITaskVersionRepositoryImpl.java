@@ -0,0 +1,80 @@
+package com.tecnova.technical_test.infrastructure.adapter.repository;
+
+import com.tecnova.technical_test.domain.model.Task;
+import com.tecnova.technical_test.domain.model.TaskVersion;
+import com.tecnova.technical_test.infrastructure.adapter.entity.TaskEntity;
+import com.tecnova.technical_test.infrastructure.adapter.entity.TaskStatusEntity;
+import com.tecnova.technical_test.infrastructure.adapter.entity.UserEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public class ITaskVersionRepositoryImpl implements ITaskVersionRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    //Solo id y version con los mismos filtros de la pagina, sin joins ni carga de entidades
+    @Override
+    public List<TaskVersion> findVersions(Specification<TaskEntity> specification, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskVersion> query = cb.createQuery(TaskVersion.class);
+        Root<TaskEntity> root = query.from(TaskEntity.class);
+
+        query.select(cb.construct(TaskVersion.class, root.get("id"), root.get("version")))
+                .orderBy(cb.asc(root.get("id")));
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+
+    //Un solo UPDATE ... WHERE id = ? [AND version = ?] con los campos informados, sin leer la tarea antes
+    @Override
+    public int updateTask(Long id, Task changes, Long expectedVersion) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<TaskEntity> update = cb.createCriteriaUpdate(TaskEntity.class);
+        Root<TaskEntity> root = update.from(TaskEntity.class);
+
+        if (changes.getTitle() != null) {
+            update.set(root.<String>get("title"), changes.getTitle());
+        }
+        if (changes.getDescription() != null) {
+            update.set(root.<String>get("description"), changes.getDescription());
+        }
+        if (changes.getLimitDate() != null) {
+            update.set(root.<LocalDate>get("limitDate"), changes.getLimitDate());
+        }
+        if (changes.getIdUser() != null) {
+            update.set(root.<UserEntity>get("userEntity"),
+                    entityManager.getReference(UserEntity.class, changes.getIdUser()));
+        }
+        if (changes.getIdTaskStatus() != null) {
+            update.set(root.<TaskStatusEntity>get("taskStatusEntity"),
+                    entityManager.getReference(TaskStatusEntity.class, changes.getIdTaskStatus()));
+        }
+        update.set(root.<Long>get("version"), cb.sum(root.<Long>get("version"), 1L));
+
+        Predicate predicate = cb.equal(root.get("id"), id);
+        if (expectedVersion != null) {
+            predicate = cb.and(predicate, cb.equal(root.get("version"), expectedVersion));
+        }
+        update.where(predicate);
+
+        //Igual que @Modifying(flushAutomatically = true, clearAutomatically = true)
+        entityManager.flush();
+        int updated = entityManager.createQuery(update).executeUpdate();
+        entityManager.clear();
+        return updated;
+    }
+}
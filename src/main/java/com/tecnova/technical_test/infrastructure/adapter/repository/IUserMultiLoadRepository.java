@@ -0,0 +1,11 @@
+package com.tecnova.technical_test.infrastructure.adapter.repository;
+
+import com.tecnova.technical_test.infrastructure.adapter.entity.UserEntity;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface IUserMultiLoadRepository {
+
+    List<UserEntity> multiLoadById(Collection<Long> ids);
+}
@@ -0,0 +1,28 @@
+package com.tecnova.technical_test.infrastructure.adapter.repository;
+
+import com.tecnova.technical_test.infrastructure.adapter.entity.UserEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+public class IUserMultiLoadRepositoryImpl implements IUserMultiLoadRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    //A diferencia de findAllById (siempre un select IN) revisa el cache de segundo nivel y consulta solo los faltantes,
+    //multiLoad solo lo revisa si el CacheMode se indica explicitamente
+    @Override
+    public List<UserEntity> multiLoadById(Collection<Long> ids) {
+        return entityManager.unwrap(Session.class).byMultipleIds(UserEntity.class)
+                .with(CacheMode.NORMAL)
+                .multiLoad(List.copyOf(ids)).stream()
+                .filter(Objects::nonNull)
+                .toList();
+    }
+}
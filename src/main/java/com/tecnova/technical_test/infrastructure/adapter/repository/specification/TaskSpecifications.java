@@ -0,0 +1,58 @@
+package com.tecnova.technical_test.infrastructure.adapter.repository.specification;
+
+import com.tecnova.technical_test.domain.model.TaskFilter;
+import com.tecnova.technical_test.infrastructure.adapter.entity.TaskEntity;
+import jakarta.persistence.criteria.JoinType;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+
+public final class TaskSpecifications {
+
+    private TaskSpecifications() {
+    }
+
+    // Solo se agregan los predicados de los filtros informados, asi H2 puede usar los indices de cada columna
+    public static Specification<TaskEntity> pageOf(TaskFilter filter, Long after) {
+        return Specification.allOf(
+                fetchRelations(),
+                idGreaterThan(after),
+                hasUser(filter.getIdUser()),
+                hasTaskStatus(filter.getIdTaskStatus()),
+                limitDateFrom(filter.getLimitDateFrom()),
+                limitDateTo(filter.getLimitDateTo()));
+    }
+
+    // Trae usuario y estado en el mismo select para que el mapper no dispare una consulta lazy por fila
+    public static Specification<TaskEntity> fetchRelations() {
+        return (root, query, cb) -> {
+            //Los count y las proyecciones (TaskVersion) no seleccionan la entidad, no se puede hacer fetch
+            if (query != null && TaskEntity.class.equals(query.getResultType())) {
+                root.fetch("userEntity", JoinType.INNER);
+                root.fetch("taskStatusEntity", JoinType.INNER);
+            }
+            return null;
+        };
+    }
+
+    public static Specification<TaskEntity> idGreaterThan(Long after) {
+        return (root, query, cb) -> after == null ? null : cb.greaterThan(root.get("id"), after);
+    }
+
+    public static Specification<TaskEntity> hasUser(Long idUser) {
+        return (root, query, cb) -> idUser == null ? null : cb.equal(root.get("userEntity").get("id"), idUser);
+    }
+
+    public static Specification<TaskEntity> hasTaskStatus(Long idTaskStatus) {
+        return (root, query, cb) -> idTaskStatus == null
+                ? null : cb.equal(root.get("taskStatusEntity").get("id"), idTaskStatus);
+    }
+
+    public static Specification<TaskEntity> limitDateFrom(LocalDate from) {
+        return (root, query, cb) -> from == null ? null : cb.greaterThanOrEqualTo(root.get("limitDate"), from);
+    }
+
+    public static Specification<TaskEntity> limitDateTo(LocalDate to) {
+        return (root, query, cb) -> to == null ? null : cb.lessThanOrEqualTo(root.get("limitDate"), to);
+    }
+}
@@ -3,13 +3,17 @@ package com.tecnova.technical_test.infrastructure.rest.advice;
 import com.tecnova.technical_test.domain.model.dto.response.ErrorResponse;
 import com.tecnova.technical_test.infrastructure.adapter.exceptions.AuthException;
 import com.tecnova.technical_test.infrastructure.adapter.exceptions.ResourceNotFoundException;
+import com.tecnova.technical_test.infrastructure.adapter.exceptions.ServiceBusyException;
 import com.tecnova.technical_test.infrastructure.adapter.exceptions.TaskException;
 import com.tecnova.technical_test.infrastructure.adapter.exceptions.TaskStatusException;
+import com.tecnova.technical_test.infrastructure.adapter.exceptions.TaskVersionException;
+import com.tecnova.technical_test.infrastructure.adapter.exceptions.TooManyRequestsException;
 import com.tecnova.technical_test.infrastructure.adapter.exceptions.UserException;
 import jakarta.validation.ConstraintViolationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -49,6 +53,38 @@ public class ExceptionHandlerAdvice {
         return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
     }
 
+    @ExceptionHandler(TaskVersionException.class)
+    public ResponseEntity<ErrorResponse> handleTaskVersionExceptions(TaskVersionException ex, WebRequest request) {
+        logger.info(EXCEPTION_MESSAGE_CAUSE, ex.getMessage(), ex.getCause());
+
+        ErrorResponse errorResponse = buildErrorResponse(HttpStatus.PRECONDITION_FAILED.toString(),
+                "Task was modified", ex.getErrorMessage(), request);
+        return new ResponseEntity<>(errorResponse, HttpStatus.PRECONDITION_FAILED);
+    }
+
+    @ExceptionHandler(ServiceBusyException.class)
+    public ResponseEntity<ErrorResponse> handleServiceBusyExceptions(ServiceBusyException ex, WebRequest request) {
+        logger.info(EXCEPTION_MESSAGE_CAUSE, ex.getMessage(), ex.getCause());
+
+        ErrorResponse errorResponse = buildErrorResponse(HttpStatus.SERVICE_UNAVAILABLE.toString(),
+                "Service busy", ex.getErrorMessage(), request);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(errorResponse);
+    }
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ErrorResponse> handleTooManyRequestsExceptions(TooManyRequestsException ex,
+                                                                         WebRequest request) {
+        logger.info(EXCEPTION_MESSAGE_CAUSE, ex.getMessage(), ex.getCause());
+
+        ErrorResponse errorResponse = buildErrorResponse(HttpStatus.TOO_MANY_REQUESTS.toString(),
+                "Too many requests", ex.getErrorMessage(), request);
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(errorResponse);
+    }
+
     @ExceptionHandler(TaskStatusException.class)
     public ResponseEntity<ErrorResponse> handleTaskStatisExceptions(TaskStatusException ex, WebRequest request) {
         logger.info(EXCEPTION_MESSAGE_CAUSE, ex.getMessage(), ex.getCause());
@@ -0,0 +1,44 @@
+package com.tecnova.technical_test.infrastructure.rest.advice;
+
+import com.tecnova.technical_test.infrastructure.adapter.config.SqlStatsProperties;
+import com.tecnova.technical_test.infrastructure.adapter.metrics.SqlRequestStats;
+import com.tecnova.technical_test.infrastructure.adapter.metrics.SqlRequestStatsFilter;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+//El header se agrega antes de escribir el body, despues el filtro ya no puede modificar una respuesta grande.
+//Tambien marca el inicio de la serializacion para SlowRequestRecorder
+@ControllerAdvice
+public class ServerTimingAdvice implements ResponseBodyAdvice<Object> {
+
+    private final SqlStatsProperties sqlStatsProperties;
+
+    public ServerTimingAdvice(SqlStatsProperties sqlStatsProperties) {
+        this.sqlStatsProperties = sqlStatsProperties;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        SqlRequestStats stats = SqlRequestStats.current();
+        if (stats == null) {
+            return body;
+        }
+        stats.bodyWriteStarted();
+        if (sqlStatsProperties.isServerTiming()) {
+            response.getHeaders().set(SqlRequestStatsFilter.SERVER_TIMING_HEADER, stats.serverTiming());
+        }
+        return body;
+    }
+}
@@ -15,6 +15,7 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.security.auth.message.AuthException;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -45,14 +46,17 @@ public class AuthController {
             @ApiResponse(responseCode = "200", description = "Token Created Correctly",
                     content = @Content(schema = @Schema(implementation = TokenResponse.class))),
             @ApiResponse(responseCode = "400", description = "Bad Request",
-                    content = @Content(schema = @Schema(implementation = BadLoginResponse.class)))},
+                    content = @Content(schema = @Schema(implementation = BadLoginResponse.class))),
+            @ApiResponse(responseCode = "429", description = "Too many login attempts for the user or client",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))},
             description = "Login is performed to generate the corresponding token")
     public ResponseEntity<?> login(@Valid @RequestBody LoginUserDto loginUserDto,
-                                   BindingResult bindingResult) throws AuthException {
+                                   BindingResult bindingResult, HttpServletRequest request) throws AuthException {
         if (bindingResult.hasErrors()) {
             return ResponseEntity.badRequest().body(new BadLoginResponse("Check your credentials"));
         }
-        String jwt = authService.authenticate(loginUserDto.getUserName(), loginUserDto.getPassword());
+        String jwt = authService.authenticate(loginUserDto.getUserName(), loginUserDto.getPassword(),
+                request.getRemoteAddr());
         return ResponseEntity.ok(new TokenResponse(jwt, loginUserDto.userName));
     }
 
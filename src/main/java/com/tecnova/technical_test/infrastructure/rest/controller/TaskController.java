@@ -1,10 +1,25 @@
 package com.tecnova.technical_test.infrastructure.rest.controller;
 
 import com.tecnova.technical_test.application.usecase.ITaskService;
+import com.tecnova.technical_test.domain.model.TaskFilter;
+import com.tecnova.technical_test.domain.model.TaskVersion;
+import com.tecnova.technical_test.domain.model.constant.TaskConstant;
 import com.tecnova.technical_test.domain.model.dto.TaskDto;
 import com.tecnova.technical_test.domain.model.dto.request.TaskCreationRequest;
 import com.tecnova.technical_test.domain.model.dto.request.TaskUpdateRequest;
 import com.tecnova.technical_test.domain.model.dto.response.ErrorResponse;
+import com.tecnova.technical_test.domain.model.dto.response.TaskBatchResponse;
+import com.tecnova.technical_test.domain.model.dto.response.TaskDeleteResponse;
+import com.tecnova.technical_test.domain.model.dto.response.TaskMultiGetResponse;
+import com.tecnova.technical_test.domain.model.dto.response.TaskPageResponse;
+import com.tecnova.technical_test.infrastructure.adapter.cache.SerializedTask;
+import com.tecnova.technical_test.infrastructure.adapter.cache.TaskResponseCache;
+import com.tecnova.technical_test.infrastructure.adapter.exceptions.TaskVersionException;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -12,17 +27,28 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -31,21 +57,52 @@ import java.util.List;
 public class TaskController {
 
     private final ITaskService taskService;
+    private final ObjectMapper objectMapper;
+    private final TaskResponseCache taskResponseCache;
 
     @Autowired
-    public TaskController(ITaskService taskService) {
+    public TaskController(ITaskService taskService, ObjectMapper objectMapper, TaskResponseCache taskResponseCache) {
         this.taskService = taskService;
+        this.objectMapper = objectMapper;
+        this.taskResponseCache = taskResponseCache;
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Get One Task By Id", responses = {
             @ApiResponse(responseCode = "200", description = "Task Found",
                     content = @Content(schema = @Schema(implementation = TaskDto.class))),
+            @ApiResponse(responseCode = "304", description = "Task Not Modified since the If-None-Match ETag"),
             @ApiResponse(responseCode = "404", description = "Task Not Found",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))},
             description = "Returns an existing Task in DB by Id")
-    public ResponseEntity<TaskDto> getByIdTask(@PathVariable Long id) {
-        return ResponseEntity.ok(taskService.getTaskById(id));
+    public ResponseEntity<byte[]> getByIdTask(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        //Con If-None-Match solo se compara la version, sin cargar ni serializar la tarea
+        if (ifNoneMatch != null) {
+            String eTag = taskETag(id, taskService.getTaskVersion(id));
+            if (matchesETag(ifNoneMatch, eTag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+            }
+        }
+
+        SerializedTask task = taskResponseCache.get(id, this::serializeTask);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(taskETag(id, task.getVersion()))
+                .body(task.getBody());
+    }
+
+    @GetMapping("/batch")
+    @Operation(summary = "Get Tasks By Ids", responses = {
+            @ApiResponse(responseCode = "200", description = "Tasks Found in the requested order, missing ids are "
+                    + "reported in missingIds",
+                    content = @Content(schema = @Schema(implementation = TaskMultiGetResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Empty list or more ids than allowed",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))},
+            description = "Returns several Tasks by Id with a single query")
+    public ResponseEntity<TaskMultiGetResponse> getTasksByIds(@RequestParam(required = false) List<Long> ids) {
+        return ResponseEntity.ok(taskService.getTasksByIds(ids));
     }
 
     @GetMapping()
@@ -59,6 +116,80 @@ public class TaskController {
         return ResponseEntity.ok(taskService.getAllTask());
     }
 
+    @GetMapping("/page")
+    @Operation(summary = "Get Tasks Page", responses = {
+            @ApiResponse(responseCode = "200", description = "Tasks Page Found",
+                    content = @Content(schema = @Schema(implementation = TaskPageResponse.class))),
+            @ApiResponse(responseCode = "304", description = "Tasks Page Not Modified since the If-None-Match ETag"),
+            @ApiResponse(responseCode = "400", description = "Invalid limit or date range",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))},
+            description = "Returns a page of Tasks ordered by id. Use the nextCursor of the response as the "
+                    + "after parameter to get the next page")
+    public ResponseEntity<TaskPageResponse> getTaskPage(
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Long idUser,
+            @RequestParam(required = false) Long idTaskStatus,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate limitDateFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate limitDateTo,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        TaskFilter filter = TaskFilter.builder()
+                .idUser(idUser)
+                .idTaskStatus(idTaskStatus)
+                .limitDateFrom(limitDateFrom)
+                .limitDateTo(limitDateTo)
+                .build();
+
+        //Con If-None-Match se consultan solo id y version de la pagina antes de armar la respuesta
+        if (ifNoneMatch != null) {
+            int pageLimit = limit == null ? TaskConstant.DEFAULT_PAGE_LIMIT : limit;
+            List<TaskVersion> versions = taskService.getTaskPageVersions(filter, after, limit);
+            boolean hasNext = versions.size() > pageLimit;
+            String eTag = pageETag(pageLimit, hasNext ? versions.subList(0, pageLimit) : versions, hasNext);
+            if (matchesETag(ifNoneMatch, eTag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+            }
+        }
+
+        TaskPageResponse page = taskService.getTaskPage(filter, after, limit);
+        List<TaskVersion> versions = page.getItems().stream()
+                .map(task -> new TaskVersion(task.getId(), task.getVersion()))
+                .toList();
+        return ResponseEntity.ok()
+                .eTag(pageETag(page.getLimit(), versions, page.isHasNext()))
+                .body(page);
+    }
+
+    @GetMapping(value = "/export", produces = TaskConstant.EXPORT_CONTENT_TYPE)
+    @Operation(summary = "Export All Tasks", responses = {
+            @ApiResponse(responseCode = "200", description = "Tasks streamed as newline-delimited JSON",
+                    content = @Content(mediaType = TaskConstant.EXPORT_CONTENT_TYPE,
+                            schema = @Schema(implementation = TaskDto.class)))},
+            description = "Streams every Task in DB, one JSON object per line, without loading the table in memory")
+    public ResponseEntity<StreamingResponseBody> exportTasks() {
+        ObjectWriter taskWriter = objectMapper.writerFor(TaskDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.setRootValueSeparator(null);
+                taskService.exportTasks(task -> {
+                    try {
+                        taskWriter.writeValue(generator, task);
+                        generator.writeRaw('\n');
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(TaskConstant.EXPORT_CONTENT_TYPE))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"tasks.ndjson\"")
+                .body(body);
+    }
+
     @PostMapping()
     @Operation(summary = "Create Task", responses = {
             @ApiResponse(responseCode = "201", description = "Tasks Created",
@@ -72,6 +203,17 @@ public class TaskController {
         return ResponseEntity.status(HttpStatus.CREATED).body(taskService.createTask(creationTaskRequest));
     }
 
+    @PostMapping("/batch")
+    @Operation(summary = "Create Tasks In Batch", responses = {
+            @ApiResponse(responseCode = "200", description = "Batch processed, the result of each item is reported",
+                    content = @Content(schema = @Schema(implementation = TaskBatchResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Empty batch or more tasks than allowed",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))},
+            description = "API to create several tasks in the DB with a single batch of inserts")
+    public ResponseEntity<TaskBatchResponse> createTasks(@RequestBody List<TaskCreationRequest> creationTaskRequests) {
+        return ResponseEntity.ok(taskService.createTasks(creationTaskRequests));
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Update Task", responses = {
             @ApiResponse(responseCode = "200", description = "Tasks Updated",
@@ -81,11 +223,19 @@ public class TaskController {
             @ApiResponse(responseCode = "404", description = "Task Status Not Found",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "404", description = "Task Not Found",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "412", description = "If-Match does not match the current version",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))},
-            description = "API to Edit a task in the DB")
+            description = "API to Edit a task in the DB. Send the ETag of the Task in If-Match to update it only "
+                    + "if nobody modified it")
     public ResponseEntity<TaskDto> editTask(@RequestBody TaskUpdateRequest taskUpdateRequest,
-                                            @PathVariable Long id) {
-        return ResponseEntity.status(HttpStatus.OK).body(taskService.updateTask(taskUpdateRequest, id));
+                                            @PathVariable Long id,
+                                            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                            String ifMatch) {
+        TaskDto taskUpdated = taskService.updateTask(taskUpdateRequest, id, expectedVersion(id, ifMatch));
+        return ResponseEntity.status(HttpStatus.OK)
+                .eTag(taskETag(id, taskUpdated.getVersion()))
+                .body(taskUpdated);
     }
 
     @DeleteMapping("/{id}")
@@ -98,4 +248,70 @@ public class TaskController {
         taskService.deleteTaskById(id);
         return ResponseEntity.noContent().build();
     }
+
+    @DeleteMapping()
+    @Operation(summary = "Delete Tasks By Ids", responses = {
+            @ApiResponse(responseCode = "200", description = "Tasks Deleted, ids that do not exist are not counted",
+                    content = @Content(schema = @Schema(implementation = TaskDeleteResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Empty list or more ids than allowed",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))},
+            description = "API to Delete several tasks in the DB with a single DELETE statement")
+    public ResponseEntity<TaskDeleteResponse> deleteTasks(@RequestParam(required = false) List<Long> ids) {
+        return ResponseEntity.ok(taskService.deleteTasksByIds(ids));
+    }
+
+    private SerializedTask serializeTask(Long id) {
+        TaskDto task = taskService.getTaskById(id);
+        try {
+            return new SerializedTask(objectMapper.writeValueAsBytes(task), task.getVersion());
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    //El ETag solo valida la fila de la tarea: nameUser y descriptionTaskStatus son datos de referencia que no
+    //cambian por la API, si se modifican directo en la BD no se invalida el ETag
+    private String taskETag(Long id, Long version) {
+        return "\"" + id + "-" + version + "\"";
+    }
+
+    //El ETag de la pagina depende de los id/version de sus tareas, del limit y de si existe pagina siguiente,
+    //igual que el de una tarea no considera los datos de referencia
+    private String pageETag(int limit, List<TaskVersion> versions, boolean hasNext) {
+        StringBuilder fingerprint = new StringBuilder().append(limit).append(';').append(hasNext);
+        versions.forEach(task -> fingerprint.append(';').append(task.getId()).append('-').append(task.getVersion()));
+        return "\"" + DigestUtils.md5DigestAsHex(fingerprint.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    //If-Match usa comparacion fuerte: se acepta * (sin condicion) o un ETag "{id}-{version}" de esta tarea
+    private Long expectedVersion(Long id, String ifMatch) {
+        if (ifMatch == null || "*".equals(ifMatch.trim())) {
+            return null;
+        }
+
+        String prefix = "\"" + id + "-";
+        for (String candidate : ifMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith(prefix) && value.endsWith("\"") && value.length() > prefix.length() + 1) {
+                try {
+                    return Long.valueOf(value.substring(prefix.length(), value.length() - 1));
+                } catch (NumberFormatException ex) {
+                    //ETag con otro formato, se revisa el siguiente
+                }
+            }
+        }
+        throw new TaskVersionException(HttpStatus.PRECONDITION_FAILED,
+                String.format(TaskConstant.INVALID_IF_MATCH_MESSAGE_ERROR, id));
+    }
+
+    //If-None-Match usa comparacion debil: se ignora el prefijo W/ y se acepta *
+    private boolean matchesETag(String ifNoneMatch, String eTag) {
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if ("*".equals(value) || eTag.equals(value.startsWith("W/") ? value.substring(2) : value)) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
@@ -0,0 +1,7 @@
+-- Tareas de ejemplo para la BD en memoria (el perfil prod no ejecuta este script)
+INSERT INTO tareas (titulo, descripcion, fecha_limite, usuario_id, estado_id)
+SELECT seed.titulo, seed.descripcion, seed.fecha_limite, u.id, seed.estado_id FROM (VALUES
+    ('Tarea 1', 'Analizar requerimientos', DATE '2025-07-15', 'jorge@nuevo.cl', 1),
+    ('Tarea 2', 'Desarrollar módulo de login', DATE '2025-07-20', 'maria@nuevo.cl', 2)
+) AS seed (titulo, descripcion, fecha_limite, email, estado_id)
+JOIN usuarios u ON u.email = seed.email;
@@ -1,19 +1,15 @@
+-- Idempotente: MERGE por clave natural para no duplicar filas al reiniciar con el perfil prod.
+-- Las tareas de ejemplo estan en data-demo.sql, que el perfil prod no ejecuta
+
 -- Estados iniciales
-INSERT INTO estados_tarea (id, descripcion) VALUES (1, 'Pendiente');
-INSERT INTO estados_tarea (id, descripcion) VALUES (2, 'En progreso');
-INSERT INTO estados_tarea (id, descripcion) VALUES (3, 'Completada');
+MERGE INTO estados_tarea (id, descripcion) KEY (id) VALUES (1, 'Pendiente');
+MERGE INTO estados_tarea (id, descripcion) KEY (id) VALUES (2, 'En progreso');
+MERGE INTO estados_tarea (id, descripcion) KEY (id) VALUES (3, 'Completada');
 
 -- Usuarios
-INSERT INTO usuarios (nombre, email) VALUES ('Jorge López', 'jorge@nuevo.cl');
-INSERT INTO usuarios (nombre, email) VALUES ('María Pérez', 'maria@nuevo.cl');
-
--- Tareas
-INSERT INTO tareas (titulo, descripcion, fecha_limite, usuario_id, estado_id)
-VALUES ('Tarea 1', 'Analizar requerimientos', '2025-07-15', 1, 1);
-
-INSERT INTO tareas (titulo, descripcion, fecha_limite, usuario_id, estado_id)
-VALUES ('Tarea 2', 'Desarrollar módulo de login', '2025-07-20', 2, 2);
+MERGE INTO usuarios (nombre, email) KEY (email) VALUES ('Jorge López', 'jorge@nuevo.cl');
+MERGE INTO usuarios (nombre, email) KEY (email) VALUES ('María Pérez', 'maria@nuevo.cl');
 
 -- Insertar Roles
-INSERT INTO roles (name) VALUES ('ROLE_USER');
-INSERT INTO roles (name) VALUES ('ROLE_ADMIN');
\ No newline at end of file
+MERGE INTO roles (name) KEY (name) VALUES ('ROLE_USER');
+MERGE INTO roles (name) KEY (name) VALUES ('ROLE_ADMIN');
\ No newline at end of file
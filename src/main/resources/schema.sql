@@ -1,42 +1,51 @@
-DROP TABLE IF EXISTS tareas;
-DROP TABLE IF EXISTS usuarios;
-DROP TABLE IF EXISTS estados_tarea;
+-- Idempotente: con el perfil prod la BD persiste en disco y el script se ejecuta en cada arranque
 
-DROP TABLE IF EXISTS users;
-
-CREATE TABLE usuarios (
+CREATE TABLE IF NOT EXISTS usuarios (
     id BIGINT AUTO_INCREMENT PRIMARY KEY,
     nombre VARCHAR(100) NOT NULL,
     email VARCHAR(100) UNIQUE NOT NULL
 );
 
-CREATE TABLE estados_tarea (
+CREATE TABLE IF NOT EXISTS estados_tarea (
     id BIGINT PRIMARY KEY,
     descripcion VARCHAR(50) NOT NULL
 );
 
-CREATE TABLE tareas (
-    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+-- Secuencia con incremento igual al allocationSize de TaskEntity para que Hibernate reserve ids en bloque
+CREATE SEQUENCE IF NOT EXISTS tareas_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS tareas (
+    id BIGINT DEFAULT NEXT VALUE FOR tareas_seq PRIMARY KEY,
     titulo VARCHAR(100) NOT NULL,
     descripcion TEXT,
     fecha_limite DATE,
     usuario_id BIGINT NOT NULL,
     estado_id BIGINT NOT NULL,
-    CONSTRAINT fk_usuario FOREIGN KEY (usuario_id) REFERENCES usuarios(id),
-    CONSTRAINT fk_estado FOREIGN KEY (estado_id) REFERENCES estados_tarea(id)
+    version BIGINT DEFAULT 0 NOT NULL -- Se incrementa en cada modificacion, se usa como ETag
 );
 
+-- Indices para el listado filtrado (TaskSpecifications.pageOf), TaskQueryPlanTest verifica que se usen.
+-- Los de usuario_id y estado_id se crean antes de las FK para que H2 los reutilice: solo reutiliza un indice con
+-- exactamente las columnas de la FK, si no crea uno propio (FK_*_INDEX_*) que se mantendria junto al del listado
+CREATE INDEX IF NOT EXISTS idx_tareas_usuario ON tareas (usuario_id);
+CREATE INDEX IF NOT EXISTS idx_tareas_estado ON tareas (estado_id);
+CREATE INDEX IF NOT EXISTS idx_tareas_fecha_limite ON tareas (fecha_limite);
+
+ALTER TABLE tareas ADD CONSTRAINT IF NOT EXISTS fk_usuario FOREIGN KEY (usuario_id) REFERENCES usuarios(id);
+ALTER TABLE tareas ADD CONSTRAINT IF NOT EXISTS fk_estado FOREIGN KEY (estado_id) REFERENCES estados_tarea(id);
+
 -- Tabla para la entidad RoleEntity
-CREATE TABLE roles (
+CREATE TABLE IF NOT EXISTS roles (
     id BIGINT AUTO_INCREMENT PRIMARY KEY,
     name VARCHAR(255) NOT NULL UNIQUE
 );
 
 -- Tabla para la entidad AppUserEntity
-CREATE TABLE users (
+CREATE TABLE IF NOT EXISTS users (
     id VARCHAR(36) PRIMARY KEY, -- UUIDs se suelen mapear a VARCHAR(36)
     user_name VARCHAR(255) NOT NULL UNIQUE,
     password VARCHAR(255) NOT NULL,
     role_id INT NOT NULL,
+    token_version INT DEFAULT 0 NOT NULL, -- Se incrementa para revocar los tokens emitidos
     FOREIGN KEY (role_id) REFERENCES roles(id)
 );
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.tecnova.technical_test.application.service;
 
+import com.tecnova.technical_test.infrastructure.adapter.config.jwt.AppUserDetails;
 import com.tecnova.technical_test.infrastructure.adapter.entity.AppUserEntity;
 import com.tecnova.technical_test.infrastructure.adapter.entity.RoleEntity;
 import com.tecnova.technical_test.infrastructure.adapter.enums.RoleList;
@@ -9,9 +10,11 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 
+import java.util.Collections;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -42,6 +45,7 @@ public class AppUserServiceTest {
         user.setUserName("lmontoya");
         user.setPassword("encodedPass");
         user.setRole(new RoleEntity(1, RoleList.ROLE_USER));
+        user.setTokenVersion(4);
 
         when(appUserRepository.findByUserName("lmontoya")).thenReturn(Optional.of(user));
 
@@ -51,6 +55,7 @@ public class AppUserServiceTest {
         assertEquals("lmontoya", result.getUsername());
         assertEquals("encodedPass", result.getPassword());
         assertTrue(result.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_USER")));
+        assertEquals(4, ((AppUserDetails) result).getTokenVersion());
     }
 
     @Test
@@ -62,6 +67,36 @@ public class AppUserServiceTest {
         });
     }
 
+    @Test
+    void updatePassword_UserExists_SavesTheNewHash() {
+        AppUserEntity user = new AppUserEntity();
+        user.setUserName("lmontoya");
+        user.setPassword("$2a$10$oldHash");
+        user.setRole(new RoleEntity(1, RoleList.ROLE_USER));
+        user.setTokenVersion(2);
+        UserDetails current = new AppUserDetails("lmontoya", "$2a$10$oldHash",
+                Collections.singleton(new SimpleGrantedAuthority("ROLE_USER")), 2);
+
+        when(appUserRepository.findByUserName("lmontoya")).thenReturn(Optional.of(user));
+
+        UserDetails result = appUserService.updatePassword(current, "$2a$12$newHash");
+
+        assertEquals("$2a$12$newHash", user.getPassword());
+        verify(appUserRepository, times(1)).save(user);
+        assertEquals("$2a$12$newHash", result.getPassword());
+        assertEquals(2, ((AppUserDetails) result).getTokenVersion());
+    }
+
+    @Test
+    void updatePassword_UserNotFound_ThrowsException() {
+        UserDetails current = new AppUserDetails("nonexistent", "$2a$10$oldHash",
+                Collections.singleton(new SimpleGrantedAuthority("ROLE_USER")), 0);
+
+        when(appUserRepository.findByUserName("nonexistent")).thenReturn(Optional.empty());
+
+        assertThrows(UsernameNotFoundException.class, () -> appUserService.updatePassword(current, "$2a$12$newHash"));
+    }
+
     @Test
     void existsByUserName_ReturnsTrue() {
         when(appUserRepository.existsByUserName("lmontoya")).thenReturn(true);
@@ -1,15 +1,18 @@
 package com.tecnova.technical_test.application.service;
 
 import com.tecnova.technical_test.domain.model.dto.NewUserDto;
+import com.tecnova.technical_test.infrastructure.adapter.cache.ReferenceDataCache;
+import com.tecnova.technical_test.infrastructure.adapter.config.LoginRateLimiter;
 import com.tecnova.technical_test.infrastructure.adapter.config.jwt.JwtUtil;
 import com.tecnova.technical_test.infrastructure.adapter.entity.AppUserEntity;
 import com.tecnova.technical_test.infrastructure.adapter.entity.RoleEntity;
 import com.tecnova.technical_test.infrastructure.adapter.enums.RoleList;
-import com.tecnova.technical_test.infrastructure.adapter.repository.IRoleRepository;
+import com.tecnova.technical_test.infrastructure.adapter.exceptions.TooManyRequestsException;
 import jakarta.security.auth.message.AuthException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -31,7 +34,7 @@ class AuthServiceTest {
     private AppUserService appUserService;
 
     @Mock
-    private IRoleRepository roleRepository;
+    private ReferenceDataCache referenceDataCache;
 
     @Mock
     private PasswordEncoder passwordEncoder;
@@ -48,6 +51,9 @@ class AuthServiceTest {
     @Mock
     private Authentication authentication;
 
+    @Mock
+    private LoginRateLimiter loginRateLimiter;
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
@@ -63,11 +69,26 @@ class AuthServiceTest {
         when(authenticationManager.authenticate(any())).thenReturn(authentication);
         when(jwtUtil.generateToken(authentication)).thenReturn(jwt);
 
-        String result = authService.authenticate(username, password);
+        String result = authService.authenticate(username, password, "127.0.0.1");
 
         assertEquals(jwt, result);
+        verify(loginRateLimiter).acquire(username, "127.0.0.1");
         verify(authenticationManager).authenticate(any(UsernamePasswordAuthenticationToken.class));
         verify(jwtUtil).generateToken(authentication);
+        verify(loginRateLimiter).reset(username);
+    }
+
+    @Test
+    void authenticate_RateLimited_ThrowsBeforeCheckingThePassword() {
+        doThrow(new TooManyRequestsException(HttpStatus.TOO_MANY_REQUESTS, "Too many login attempts", 30))
+                .when(loginRateLimiter).acquire("lmontoya", "127.0.0.1");
+
+        TooManyRequestsException exception = assertThrows(TooManyRequestsException.class, () ->
+                authService.authenticate("lmontoya", "pass123", "127.0.0.1"));
+
+        assertEquals(30, exception.getRetryAfterSeconds());
+        verifyNoInteractions(authenticationManagerBuilder);
+        verify(loginRateLimiter, never()).reset(any());
     }
 
     @Test
@@ -77,7 +98,7 @@ class AuthServiceTest {
                 .thenThrow(new BadCredentialsException("Bad credentials"));
 
         AuthException exception = assertThrows(AuthException.class, () ->
-                authService.authenticate("invalidUser", "wrongPass"));
+                authService.authenticate("invalidUser", "wrongPass", "127.0.0.1"));
 
         assertTrue(exception.getMessage().contains("Invalid credentials"));
     }
@@ -88,7 +109,7 @@ class AuthServiceTest {
         RoleEntity role = new RoleEntity(1, RoleList.ROLE_USER);
 
         when(appUserService.existsByUserName("lmontoya")).thenReturn(false);
-        when(roleRepository.findByName(RoleList.ROLE_USER)).thenReturn(Optional.of(role));
+        when(referenceDataCache.getRole(RoleList.ROLE_USER)).thenReturn(Optional.of(role));
         when(passwordEncoder.encode("Linda123*")).thenReturn("encodedPassword");
 
         authService.registerUser(newUserDto);
@@ -129,7 +150,7 @@ class AuthServiceTest {
         NewUserDto newUserDto = new NewUserDto("newuser", "123", "user");
 
         when(appUserService.existsByUserName("newuser")).thenReturn(false);
-        when(roleRepository.findByName(RoleList.ROLE_USER)).thenReturn(Optional.empty());
+        when(referenceDataCache.getRole(RoleList.ROLE_USER)).thenReturn(Optional.empty());
 
         RuntimeException ex = assertThrows(RuntimeException.class, () ->
                 authService.registerUser(newUserDto));
@@ -2,9 +2,18 @@ package com.tecnova.technical_test.application.service;
 
 import com.tecnova.technical_test.application.mapper.TaskDtoMapper;
 import com.tecnova.technical_test.domain.model.Task;
+import com.tecnova.technical_test.domain.model.TaskBatchItem;
+import com.tecnova.technical_test.domain.model.TaskFilter;
+import com.tecnova.technical_test.domain.model.TaskPage;
+import com.tecnova.technical_test.domain.model.TaskVersion;
+import com.tecnova.technical_test.domain.model.constant.TaskConstant;
 import com.tecnova.technical_test.domain.model.dto.TaskDto;
 import com.tecnova.technical_test.domain.model.dto.request.TaskCreationRequest;
 import com.tecnova.technical_test.domain.model.dto.request.TaskUpdateRequest;
+import com.tecnova.technical_test.domain.model.dto.response.TaskBatchResponse;
+import com.tecnova.technical_test.domain.model.dto.response.TaskDeleteResponse;
+import com.tecnova.technical_test.domain.model.dto.response.TaskMultiGetResponse;
+import com.tecnova.technical_test.domain.model.dto.response.TaskPageResponse;
 import com.tecnova.technical_test.domain.port.ITaskPort;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -12,13 +21,23 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.time.LocalDate;
+import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 class TaskServiceTest {
@@ -41,16 +60,11 @@ class TaskServiceTest {
     void getTaskById_ReturnsTaskDto() {
         Long taskId = 1L;
 
-        Task domainTask = new Task();
-        domainTask.setId(taskId);
-        domainTask.setTitle("Task title");
-
         TaskDto expectedDto = new TaskDto();
         expectedDto.setId(taskId);
         expectedDto.setTitle("Task title");
 
-        when(taskPort.getTaskById(taskId)).thenReturn(domainTask);
-        when(taskDtoMapper.toDto(domainTask)).thenReturn(expectedDto);
+        when(taskPort.getTaskDtoById(taskId)).thenReturn(expectedDto);
 
         TaskDto result = taskService.getTaskById(taskId);
 
@@ -58,30 +72,128 @@ class TaskServiceTest {
         assertEquals(expectedDto.getId(), result.getId());
         assertEquals(expectedDto.getTitle(), result.getTitle());
 
-        verify(taskPort, times(1)).getTaskById(taskId);
-        verify(taskDtoMapper, times(1)).toDto(domainTask);
+        verify(taskPort, times(1)).getTaskDtoById(taskId);
+        verifyNoInteractions(taskDtoMapper);
     }
 
     @Test
-    void testGetAllTask() {
-        Task task1 = new Task();
-        task1.setId(1L);
-        Task task2 = new Task();
-        task2.setId(2L);
+    void getTasksByIds_ShouldKeepRequestOrderAndReportMissingIds() {
+        TaskDto first = new TaskDto();
+        first.setId(2L);
+        TaskDto second = new TaskDto();
+        second.setId(5L);
+        when(taskPort.getTasksByIds(List.of(5L, 9L, 2L))).thenReturn(List.of(first, second));
+
+        TaskMultiGetResponse result = taskService.getTasksByIds(List.of(5L, 9L, 2L, 5L));
+
+        assertEquals(List.of(5L, 2L), result.getItems().stream().map(TaskDto::getId).toList());
+        assertEquals(List.of(9L), result.getMissingIds());
+        verify(taskPort, times(1)).getTasksByIds(List.of(5L, 9L, 2L));
+    }
 
+    @Test
+    void getTasksByIds_WithoutIds_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> taskService.getTasksByIds(List.of()));
+        verifyNoInteractions(taskPort);
+    }
+
+    @Test
+    void testGetAllTask() {
         TaskDto dto1 = new TaskDto();
         dto1.setId(1L);
         TaskDto dto2 = new TaskDto();
         dto2.setId(2L);
 
-        when(taskPort.getAllTask()).thenReturn(List.of(task1, task2));
-        when(taskDtoMapper.toDto(task1)).thenReturn(dto1);
-        when(taskDtoMapper.toDto(task2)).thenReturn(dto2);
+        when(taskPort.getAllTaskDto()).thenReturn(List.of(dto1, dto2));
 
         List<TaskDto> result = taskService.getAllTask();
 
         assertEquals(2, result.size());
-        verify(taskPort).getAllTask();
+        verify(taskPort).getAllTaskDto();
+        verifyNoInteractions(taskDtoMapper);
+    }
+
+    @Test
+    void getTaskPage_ReturnsPageWithCursor() {
+        TaskFilter filter = TaskFilter.builder().idUser(1L).build();
+
+        Task task = new Task();
+        task.setId(7L);
+        TaskDto dto = new TaskDto();
+        dto.setId(7L);
+
+        when(taskPort.getTaskPage(filter, 3L, 1)).thenReturn(new TaskPage(List.of(task), 7L));
+        when(taskDtoMapper.toDto(task)).thenReturn(dto);
+
+        TaskPageResponse result = taskService.getTaskPage(filter, 3L, 1);
+
+        assertEquals(1, result.getItems().size());
+        assertEquals(1, result.getLimit());
+        assertEquals(7L, result.getNextCursor());
+        assertTrue(result.isHasNext());
+    }
+
+    @Test
+    void getTaskPage_WithoutLimit_UsesDefaultLimit() {
+        TaskFilter filter = new TaskFilter();
+
+        when(taskPort.getTaskPage(filter, null, TaskConstant.DEFAULT_PAGE_LIMIT))
+                .thenReturn(new TaskPage(List.of(), null));
+
+        TaskPageResponse result = taskService.getTaskPage(filter, null, null);
+
+        assertTrue(result.getItems().isEmpty());
+        assertEquals(TaskConstant.DEFAULT_PAGE_LIMIT, result.getLimit());
+        assertFalse(result.isHasNext());
+        verify(taskPort).getTaskPage(filter, null, TaskConstant.DEFAULT_PAGE_LIMIT);
+    }
+
+    @Test
+    void getTaskPage_LimitOutOfRange_ThrowsException() {
+        TaskFilter filter = new TaskFilter();
+
+        assertThrows(IllegalArgumentException.class, () -> taskService.getTaskPage(filter, null, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> taskService.getTaskPage(filter, null, TaskConstant.MAX_PAGE_LIMIT + 1));
+        verifyNoInteractions(taskPort);
+    }
+
+    @Test
+    void getTaskPage_InvalidDateRange_ThrowsException() {
+        TaskFilter filter = TaskFilter.builder()
+                .limitDateFrom(LocalDate.of(2025, 8, 1))
+                .limitDateTo(LocalDate.of(2025, 7, 1))
+                .build();
+
+        assertThrows(IllegalArgumentException.class, () -> taskService.getTaskPage(filter, null, 10));
+        verify(taskPort, times(0)).getTaskPage(any(), any(), anyInt());
+    }
+
+    @Test
+    void getTaskVersion_ShouldQueryOnlyTheVersion() {
+        when(taskPort.getTaskVersion(8L)).thenReturn(5L);
+
+        assertEquals(5L, taskService.getTaskVersion(8L));
+        verify(taskPort, never()).getTaskDtoById(any());
+    }
+
+    @Test
+    void getTaskPageVersions_ShouldUseTheDefaultLimitAndValidateIt() {
+        TaskFilter filter = new TaskFilter();
+        List<TaskVersion> versions = List.of(new TaskVersion(1L, 0L));
+        when(taskPort.getTaskPageVersions(filter, null, TaskConstant.DEFAULT_PAGE_LIMIT)).thenReturn(versions);
+
+        assertEquals(versions, taskService.getTaskPageVersions(filter, null, null));
+        assertThrows(IllegalArgumentException.class, () -> taskService.getTaskPageVersions(filter, null, 0));
+    }
+
+    @Test
+    void exportTasks_DelegatesToPort() {
+        Consumer<TaskDto> consumer = task -> { };
+
+        taskService.exportTasks(consumer);
+
+        verify(taskPort).exportTasks(consumer);
     }
 
     @Test
@@ -114,6 +226,44 @@ class TaskServiceTest {
         verify(taskDtoMapper).toDto(savedTask);
     }
 
+    @Test
+    void createTasks_ShouldReportCreatedAndRejectedItems() {
+        TaskCreationRequest first = new TaskCreationRequest();
+        TaskCreationRequest second = new TaskCreationRequest();
+        Task firstTask = new Task();
+        Task secondTask = new Task();
+        Task savedTask = new Task();
+        savedTask.setId(1L);
+        TaskDto dto = new TaskDto();
+        dto.setId(1L);
+
+        when(taskDtoMapper.toDomain(first)).thenReturn(firstTask);
+        when(taskDtoMapper.toDomain(second)).thenReturn(secondTask);
+        when(taskPort.createTasks(List.of(firstTask, secondTask))).thenReturn(List.of(
+                new TaskBatchItem(0, savedTask, null),
+                new TaskBatchItem(1, null, "User with id 9 not found")));
+        when(taskDtoMapper.toDto(savedTask)).thenReturn(dto);
+
+        TaskBatchResponse result = taskService.createTasks(List.of(first, second));
+
+        assertEquals(1, result.getCreated());
+        assertEquals(1, result.getRejected());
+        assertEquals(TaskConstant.BATCH_ITEM_CREATED, result.getItems().get(0).getStatus());
+        assertEquals(1L, result.getItems().get(0).getTask().getId());
+        assertEquals(TaskConstant.BATCH_ITEM_REJECTED, result.getItems().get(1).getStatus());
+        assertEquals("User with id 9 not found", result.getItems().get(1).getError());
+    }
+
+    @Test
+    void createTasks_ShouldRejectEmptyOrOversizedBatch() {
+        List<TaskCreationRequest> oversized = Collections.nCopies(TaskConstant.MAX_BATCH_SIZE + 1,
+                new TaskCreationRequest());
+
+        assertThrows(IllegalArgumentException.class, () -> taskService.createTasks(List.of()));
+        assertThrows(IllegalArgumentException.class, () -> taskService.createTasks(oversized));
+        verifyNoInteractions(taskPort);
+    }
+
     @Test
     void testUpdateTask() {
         Long taskId = 1L;
@@ -137,10 +287,11 @@ class TaskServiceTest {
         when(taskDtoMapper.toDto(savedTask)).thenReturn(dto);
 
 
-        TaskDto result = taskService.updateTask(request, taskId);
+        TaskDto result = taskService.updateTask(request, taskId, 6L);
 
         assertNotNull(result);
         assertEquals(1L, result.getId());
+        assertEquals(6L, domainTask.getVersion());
         verify(taskDtoMapper).toDomainUpdate(request);
         verify(taskPort).updateTask(domainTask, taskId);
         verify(taskDtoMapper).toDto(savedTask);
@@ -154,4 +305,21 @@ class TaskServiceTest {
         taskService.deleteTaskById(taskId);
         verify(taskPort, times(1)).deleteTaskById(taskId);
     }
+
+    @Test
+    void deleteTasksByIds_ShouldRemoveDuplicatesAndReportDeletedCount() {
+        when(taskPort.deleteTasksByIds(List.of(1L, 2L, 3L))).thenReturn(2);
+
+        TaskDeleteResponse result = taskService.deleteTasksByIds(List.of(1L, 2L, 2L, 3L));
+
+        assertEquals(3, result.getRequested());
+        assertEquals(2, result.getDeleted());
+    }
+
+    @Test
+    void deleteTasksByIds_WithoutIds_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> taskService.deleteTasksByIds(null));
+        assertThrows(IllegalArgumentException.class, () -> taskService.deleteTasksByIds(List.of()));
+        verify(taskPort, never()).deleteTasksByIds(any());
+    }
 }
@@ -0,0 +1,63 @@
+package com.tecnova.technical_test.infrastructure.adapter;
+
+import com.tecnova.technical_test.infrastructure.adapter.cache.ReferenceDataCache;
+import com.tecnova.technical_test.infrastructure.adapter.mapper.TaskDboMapperImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Heap retenido durante la exportacion: con la consulta completa H2 materializa las 50.000 filas (~3 MB),
+// por paginas solo quedan EXPORT_PAGE_SIZE filas a la vez
+@DataJpaTest
+@Import({TaskSpringJpaAdapter.class, TaskDboMapperImpl.class, ReferenceDataCache.class, SimpleMeterRegistry.class})
+class TaskExportMemoryTest {
+
+    private static final int TASKS = 50_000;
+    private static final long MAX_RETAINED_BYTES = 1024 * 1024;
+
+    @Autowired
+    private TaskSpringJpaAdapter taskAdapter;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void exportTasks_shouldNotRetainTheWholeResultWhileStreaming() {
+        long existing = ((Number) entityManager.getEntityManager()
+                .createNativeQuery("SELECT COUNT(*) FROM tareas").getSingleResult()).longValue();
+        // Antes de insertar, para no medir clases ni planes de consulta cargados por la primera exportacion
+        taskAdapter.exportTasks(task -> { });
+        entityManager.getEntityManager().createNativeQuery("INSERT INTO tareas (titulo, descripcion, fecha_limite, "
+                        + "usuario_id, estado_id) SELECT 'Tarea ' || X, 'Descripcion ' || X, CURRENT_DATE, "
+                        + "(SELECT MIN(id) FROM usuarios), 1 FROM SYSTEM_RANGE(1, " + TASKS + ")")
+                .executeUpdate();
+        // La primera medicion despues de la insercion todavia incluye memoria que H2 libera recien en el GC siguiente
+        usedHeapAfterGc();
+        long before = usedHeapAfterGc();
+        long[] maxRetained = new long[1];
+        int[] exported = new int[1];
+
+        taskAdapter.exportTasks(task -> {
+            if (exported[0] == 0 || exported[0] == TASKS / 2) {
+                maxRetained[0] = Math.max(maxRetained[0], usedHeapAfterGc() - before);
+            }
+            exported[0]++;
+        });
+
+        assertEquals(existing + TASKS, exported[0]);
+        assertTrue(maxRetained[0] < MAX_RETAINED_BYTES, "retained " + maxRetained[0] + " bytes");
+    }
+
+    private static long usedHeapAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
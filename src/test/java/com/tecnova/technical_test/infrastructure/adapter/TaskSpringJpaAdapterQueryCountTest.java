@@ -0,0 +1,280 @@
+package com.tecnova.technical_test.infrastructure.adapter;
+
+import com.tecnova.technical_test.domain.model.Task;
+import com.tecnova.technical_test.domain.model.TaskBatchItem;
+import com.tecnova.technical_test.domain.model.TaskFilter;
+import com.tecnova.technical_test.domain.model.TaskPage;
+import com.tecnova.technical_test.domain.model.TaskVersion;
+import com.tecnova.technical_test.domain.model.dto.TaskDto;
+import com.tecnova.technical_test.infrastructure.adapter.cache.ReferenceDataCache;
+import com.tecnova.technical_test.infrastructure.adapter.entity.TaskEntity;
+import com.tecnova.technical_test.infrastructure.adapter.entity.TaskStatusEntity;
+import com.tecnova.technical_test.infrastructure.adapter.entity.UserEntity;
+import com.tecnova.technical_test.infrastructure.adapter.exceptions.TaskException;
+import com.tecnova.technical_test.infrastructure.adapter.exceptions.TaskVersionException;
+import com.tecnova.technical_test.infrastructure.adapter.mapper.TaskDboMapperImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({TaskSpringJpaAdapter.class, TaskDboMapperImpl.class, ReferenceDataCache.class, SimpleMeterRegistry.class})
+class TaskSpringJpaAdapterQueryCountTest {
+
+    @Autowired
+    private TaskSpringJpaAdapter taskAdapter;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
+    private Statistics statistics;
+
+    private long nextStatusId = 1000L;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void getTaskPage_shouldUseOneStatementWhateverTheResultSize() {
+        seedTasks(45);
+
+        long smallPage = countStatements(() -> taskAdapter.getTaskPage(new TaskFilter(), null, 5));
+        long bigPage = countStatements(() -> taskAdapter.getTaskPage(new TaskFilter(), null, 40));
+
+        assertEquals(1, smallPage);
+        assertEquals(smallPage, bigPage);
+    }
+
+    @Test
+    void getAllTaskDto_shouldProjectRowsWithoutLoadingEntities() {
+        seedTasks(20);
+
+        long statements = countStatements(() -> {
+            List<TaskDto> tasks = taskAdapter.getAllTaskDto();
+            assertNotNull(tasks.get(tasks.size() - 1).getNameUser());
+            assertNotNull(tasks.get(tasks.size() - 1).getDescriptionTaskStatus());
+        });
+
+        assertEquals(1, statements);
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void getTaskDtoById_shouldProjectRowWithoutLoadingEntities() {
+        List<Long> ids = seedTasks(1);
+
+        long statements = countStatements(() -> {
+            TaskDto task = taskAdapter.getTaskDtoById(ids.get(0));
+            assertEquals(ids.get(0), task.getId());
+            assertNotNull(task.getNameUser());
+        });
+
+        assertEquals(1, statements);
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void exportTasks_shouldProjectEveryRowWithOneStatementPerPage() {
+        seedTasks(30);
+        List<TaskDto> exported = new ArrayList<>();
+
+        long statements = countStatements(() -> taskAdapter.exportTasks(exported::add));
+
+        assertEquals(1, statements);
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(taskAdapter.getAllTaskDto().size(), exported.size());
+    }
+
+    @Test
+    void getTaskPage_shouldKeepCursorConsistentAcrossPages() {
+        seedTasks(7);
+
+        TaskPage firstPage = taskAdapter.getTaskPage(new TaskFilter(), null, 5);
+        TaskPage secondPage = taskAdapter.getTaskPage(new TaskFilter(), firstPage.getNextCursor(), 5);
+
+        assertEquals(5, firstPage.getItems().size());
+        assertNotNull(firstPage.getNextCursor());
+        assertEquals(firstPage.getNextCursor(), firstPage.getItems().get(4).getId());
+        assertEquals(firstPage.getNextCursor() + 1, secondPage.getItems().get(0).getId());
+    }
+
+    @Test
+    void createTasks_shouldValidateWithSetQueriesAndBatchTheInserts() {
+        TaskDto existing = taskAdapter.getTaskDtoById(seedTasks(1).get(0));
+        List<Task> requests = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            requests.add(new Task(null, "Batch " + i, null, LocalDate.now(), existing.getIdUser(), null,
+                    i == 7 ? -1L : existing.getIdTaskStatus(), null, null));
+        }
+
+        List<TaskBatchItem> result = new ArrayList<>();
+        long statements = countStatements(() -> result.addAll(taskAdapter.createTasks(requests)));
+
+        assertEquals(40, result.size());
+        assertEquals(39, result.stream().filter(TaskBatchItem::isCreated).count());
+        assertNull(result.get(7).getTask());
+        assertNotNull(result.get(7).getError());
+        assertNotNull(result.get(8).getTask().getId());
+        // Usuarios + estados + secuencia + un solo INSERT preparado para todo el lote
+        assertTrue(statements <= 5, "statements: " + statements);
+        assertEquals(39, statistics.getEntityInsertCount());
+    }
+
+    @Test
+    void createTask_shouldResolveTheStatusFromTheReferenceCache() {
+        TaskDto existing = taskAdapter.getTaskDtoById(seedTasks(1).get(0));
+        referenceDataCache.refresh();
+        Task request = new Task(null, "Cached status", null, LocalDate.now(), existing.getIdUser(), null,
+                existing.getIdTaskStatus(), null, null);
+
+        long statements = countStatements(() -> {
+            Task created = taskAdapter.createTask(request);
+            assertEquals(existing.getDescriptionTaskStatus(), created.getDescriptionTaskStatus());
+            entityManager.flush();
+        });
+
+        // Usuario + secuencia + INSERT, estados_tarea no se consulta
+        assertTrue(statements <= 3, "statements: " + statements);
+        assertEquals(0, statistics.getEntityStatistics(TaskStatusEntity.class.getName()).getLoadCount());
+    }
+
+    @Test
+    void getTaskPageVersions_shouldSelectOnlyIdAndVersion() {
+        List<Long> ids = seedTasks(6);
+        TaskFilter filter = new TaskFilter();
+
+        List<TaskVersion> versions = new ArrayList<>();
+        long statements = countStatements(() -> versions.addAll(taskAdapter.getTaskPageVersions(filter, ids.get(0), 3)));
+
+        assertEquals(1, statements);
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(4, versions.size());
+        assertEquals(ids.get(1), versions.get(0).getId());
+        assertEquals(0L, versions.get(0).getVersion());
+    }
+
+    @Test
+    void updateTask_shouldIncrementTheVersion() {
+        TaskDto existing = taskAdapter.getTaskDtoById(seedTasks(1).get(0));
+        Task request = new Task(null, "Updated", null, LocalDate.now(), existing.getIdUser(), null,
+                existing.getIdTaskStatus(), null, null);
+        entityManager.clear();
+
+        Task updated = taskAdapter.updateTask(request, existing.getId());
+
+        assertEquals(existing.getVersion() + 1, updated.getVersion());
+        assertEquals(updated.getVersion(), taskAdapter.getTaskVersion(existing.getId()));
+    }
+
+    @Test
+    void updateTask_withVersion_shouldUpdateWithOneStatementAndRejectStaleVersions() {
+        TaskDto existing = taskAdapter.getTaskDtoById(seedTasks(1).get(0));
+        Task request = new Task(null, "Conditional", null, null, null, null, null, null, existing.getVersion());
+
+        // UPDATE ... WHERE id = ? AND version = ? y la lectura de la respuesta, sin SELECT previo
+        long statements = countStatements(() -> taskAdapter.updateTask(request, existing.getId()));
+        assertEquals(2, statements);
+
+        TaskVersionException exception = assertThrows(TaskVersionException.class,
+                () -> taskAdapter.updateTask(request, existing.getId()));
+        assertEquals(HttpStatus.PRECONDITION_FAILED, exception.getErrorCode());
+        assertEquals("Conditional", taskAdapter.getTaskDtoById(existing.getId()).getTitle());
+    }
+
+    @Test
+    void deleteTaskById_shouldUseOneStatement() {
+        Long id = seedTasks(1).get(0);
+
+        long statements = countStatements(() -> taskAdapter.deleteTaskById(id));
+
+        assertEquals(1, statements);
+        assertThrows(TaskException.class, () -> taskAdapter.deleteTaskById(id));
+    }
+
+    @Test
+    void deleteTasksByIds_shouldUseOneStatementWhateverTheAmountOfIds() {
+        List<Long> ids = seedTasks(10);
+        List<Long> requested = new ArrayList<>(ids);
+        requested.add(-1L);
+
+        long statements = countStatements(() -> assertEquals(10, taskAdapter.deleteTasksByIds(requested)));
+
+        assertEquals(1, statements);
+    }
+
+    @Test
+    void getTasksByIds_shouldUseOneStatementAndSkipMissingIds() {
+        List<Long> ids = seedTasks(30);
+        List<Long> requested = new ArrayList<>(ids);
+        requested.add(-1L);
+
+        List<TaskDto> tasks = new ArrayList<>();
+        long statements = countStatements(() -> tasks.addAll(taskAdapter.getTasksByIds(requested)));
+
+        assertEquals(1, statements);
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(30, tasks.size());
+        assertNotNull(tasks.get(0).getNameUser());
+    }
+
+    // Cada tarea tiene su propio usuario y estado, asi un N+1 se notaria en el conteo
+    private List<Long> seedTasks(int size) {
+        List<Long> ids = new ArrayList<>();
+
+        for (int i = 0; i < size; i++) {
+            UserEntity user = UserEntity.builder()
+                    .name("User " + i)
+                    .email("user" + System.nanoTime() + "@test.cl")
+                    .build();
+            entityManager.persist(user);
+
+            TaskStatusEntity status = TaskStatusEntity.builder()
+                    .id(nextStatusId++)
+                    .description("Status " + i)
+                    .build();
+            entityManager.persist(status);
+
+            TaskEntity task = TaskEntity.builder()
+                    .title("Task " + i)
+                    .description("Description " + i)
+                    .limitDate(LocalDate.now().plusDays(i))
+                    .userEntity(user)
+                    .taskStatusEntity(status)
+                    .build();
+            ids.add(entityManager.persistAndGetId(task, Long.class));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return ids;
+    }
+
+    private long countStatements(Runnable action) {
+        entityManager.clear();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
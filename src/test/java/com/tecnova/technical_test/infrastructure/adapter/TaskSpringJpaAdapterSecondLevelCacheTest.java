@@ -0,0 +1,169 @@
+package com.tecnova.technical_test.infrastructure.adapter;
+
+import com.tecnova.technical_test.domain.model.Task;
+import com.tecnova.technical_test.infrastructure.adapter.cache.ReferenceDataCache;
+import com.tecnova.technical_test.infrastructure.adapter.config.EntityCacheProperties;
+import com.tecnova.technical_test.infrastructure.adapter.config.HibernateCacheConfig;
+import com.tecnova.technical_test.infrastructure.adapter.entity.TaskEntity;
+import com.tecnova.technical_test.infrastructure.adapter.entity.TaskStatusEntity;
+import com.tecnova.technical_test.infrastructure.adapter.entity.UserEntity;
+import com.tecnova.technical_test.infrastructure.adapter.mapper.TaskDboMapperImpl;
+import com.tecnova.technical_test.infrastructure.adapter.repository.ITaskRepository;
+import com.tecnova.technical_test.infrastructure.adapter.repository.ITaskStatusRepository;
+import com.tecnova.technical_test.infrastructure.adapter.repository.IUserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.EntityStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({TaskSpringJpaAdapter.class, TaskDboMapperImpl.class, ReferenceDataCache.class, SimpleMeterRegistry.class,
+        HibernateCacheConfig.class, EntityCacheProperties.class})
+// Sin transaccion de test: cada llamada al adapter confirma la suya como en una peticion real. Con READ_WRITE una
+// entrada cargada despues de iniciar la transaccion no es visible dentro de esa misma transaccion
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TaskSpringJpaAdapterSecondLevelCacheTest {
+
+    private static final Long STATUS_ID = 2000L;
+
+    @Autowired
+    private TaskSpringJpaAdapter taskAdapter;
+
+    @Autowired
+    private ITaskRepository taskRepository;
+
+    @Autowired
+    private IUserRepository userRepository;
+
+    @Autowired
+    private ITaskStatusRepository taskStatusRepository;
+
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private UserEntity user;
+
+    private UserEntity otherUser;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        user = userRepository.save(UserEntity.builder().name("Cached").email("cached@test.cl").build());
+        otherUser = userRepository.save(UserEntity.builder().name("Other").email("other@test.cl").build());
+        taskStatusRepository.save(TaskStatusEntity.builder().id(STATUS_ID).description("Cached status").build());
+        referenceDataCache.refresh();
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAllInBatch();
+        userRepository.deleteAllById(List.of(user.getId(), otherUser.getId()));
+        taskStatusRepository.deleteById(STATUS_ID);
+        referenceDataCache.refresh();
+        evictSecondLevelCache();
+    }
+
+    @Test
+    void createTask_withWarmCache_shouldNotQueryTheUser() {
+        Task request = newTask(user);
+        // Reserva el bloque de la secuencia antes de medir
+        taskAdapter.createTask(request);
+        evictSecondLevelCache();
+
+        long cold = countStatements(() -> taskAdapter.createTask(request));
+        long warm = countStatements(() -> taskAdapter.createTask(request));
+
+        assertEquals(cold - 1, warm);
+        assertEquals(0, userStatistics().getLoadCount());
+        assertEquals(1, userStatistics().getCacheHitCount());
+    }
+
+    @Test
+    void updateTask_withWarmCache_shouldNotQueryTheUser() {
+        Long idTask = taskAdapter.createTask(newTask(user)).getId();
+        Task request = new Task(null, "Updated", null, null, otherUser.getId(), null, null, null, null);
+        evictSecondLevelCache();
+
+        long cold = countStatements(() -> taskAdapter.updateTask(request, idTask));
+        long warm = countStatements(() -> taskAdapter.updateTask(request, idTask));
+
+        // El usuario de la respuesta se lee con el join de findWithRelationsById, la validacion sale del cache
+        assertEquals(cold - 1, warm);
+        assertEquals(1, userStatistics().getCacheHitCount());
+    }
+
+    @Test
+    void createTasks_shouldOnlyQueryTheUsersMissingFromTheCache() {
+        List<Task> requests = List.of(newTask(user), newTask(otherUser), newTask(user));
+        taskAdapter.createTasks(requests);
+        evictSecondLevelCache();
+        userRepository.findById(user.getId());
+
+        long partial = countStatements(() -> taskAdapter.createTasks(requests));
+        assertEquals(1, userStatistics().getLoadCount());
+        assertEquals(1, userStatistics().getCacheHitCount());
+
+        long warm = countStatements(() -> taskAdapter.createTasks(requests));
+        assertEquals(0, userStatistics().getLoadCount());
+        assertEquals(2, userStatistics().getCacheHitCount());
+        assertEquals(partial - 1, warm);
+    }
+
+    @Test
+    void taskStatus_shouldBeServedFromTheCacheAfterTheReferenceDataRefresh() {
+        evictSecondLevelCache();
+
+        referenceDataCache.refresh();
+
+        assertTrue(entityManagerFactory.getCache().contains(TaskStatusEntity.class, STATUS_ID));
+        assertEquals(0, countStatements(() -> taskStatusRepository.findById(STATUS_ID)));
+    }
+
+    @Test
+    void userChanges_shouldNotBeHiddenByTheCache() {
+        userRepository.findById(user.getId());
+        user.setName("Renamed");
+        userRepository.save(user);
+
+        assertEquals("Renamed", userRepository.findById(user.getId()).orElseThrow().getName());
+        assertTrue(entityManagerFactory.getCache().contains(UserEntity.class, user.getId()));
+    }
+
+    private Task newTask(UserEntity owner) {
+        return new Task(null, "Cached", null, LocalDate.now(), owner.getId(), null, STATUS_ID, null, null);
+    }
+
+    private EntityStatistics userStatistics() {
+        return statistics.getEntityStatistics(UserEntity.class.getName());
+    }
+
+    private void evictSecondLevelCache() {
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    private long countStatements(Runnable action) {
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -1,12 +1,19 @@
 package com.tecnova.technical_test.infrastructure.adapter;
 
 import com.tecnova.technical_test.domain.model.Task;
+import com.tecnova.technical_test.domain.model.TaskBatchItem;
+import com.tecnova.technical_test.domain.model.TaskFilter;
+import com.tecnova.technical_test.domain.model.TaskPage;
 import com.tecnova.technical_test.domain.model.constant.TaskConstant;
+import com.tecnova.technical_test.domain.model.dto.TaskDto;
+import com.tecnova.technical_test.domain.model.event.TaskChangedEvent;
+import com.tecnova.technical_test.infrastructure.adapter.cache.ReferenceDataCache;
 import com.tecnova.technical_test.infrastructure.adapter.entity.TaskEntity;
 import com.tecnova.technical_test.infrastructure.adapter.entity.TaskStatusEntity;
 import com.tecnova.technical_test.infrastructure.adapter.entity.UserEntity;
 import com.tecnova.technical_test.infrastructure.adapter.exceptions.TaskException;
 import com.tecnova.technical_test.infrastructure.adapter.exceptions.TaskStatusException;
+import com.tecnova.technical_test.infrastructure.adapter.exceptions.TaskVersionException;
 import com.tecnova.technical_test.infrastructure.adapter.exceptions.UserException;
 import com.tecnova.technical_test.infrastructure.adapter.mapper.TaskDboMapper;
 import com.tecnova.technical_test.infrastructure.adapter.repository.ITaskRepository;
@@ -14,20 +21,28 @@ import com.tecnova.technical_test.infrastructure.adapter.repository.ITaskStatusR
 import com.tecnova.technical_test.infrastructure.adapter.repository.IUserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
@@ -47,6 +62,12 @@ public class TaskSpringJpaAdapterTest {
     @Mock
     private TaskDboMapper taskDboMapper;
 
+    @Mock
+    private ReferenceDataCache referenceDataCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private TaskSpringJpaAdapter taskAdapter;
 
@@ -58,70 +79,119 @@ public class TaskSpringJpaAdapterTest {
     }
 
     @Test
-    void getById_whenUserExists_shouldReturnUser() {
-        Long id = 1L;
-        TaskEntity task = new TaskEntity();
-        Task domainTask = new Task();
+    void getTaskDtoById_whenTaskExists_shouldReturnProjection() {
+        TaskDto dto = new TaskDto(1L, "Title", "Description", LocalDate.now(), 2L, "Juan", 3L, "Pendiente", null);
 
-        when(taskRepository.findById(id)).thenReturn(Optional.of(task));
-        when(taskDboMapper.toDomain(task)).thenReturn(domainTask);
+        when(taskRepository.findDtoById(1L)).thenReturn(Optional.of(dto));
 
-        Task result = taskAdapter.getTaskById(id);
+        TaskDto result = taskAdapter.getTaskDtoById(1L);
 
-        assertNotNull(result);
-        verify(taskRepository).findById(id);
-        verify(taskDboMapper).toDomain(task);
+        assertEquals(dto, result);
+        verifyNoInteractions(taskDboMapper);
     }
 
     @Test
-    void getById_whenUserNotFound_shouldThrowException() {
-        Long id = 2L;
+    void getTaskDtoById_whenTaskNotFound_shouldThrowException() {
+        when(taskRepository.findDtoById(1L)).thenReturn(Optional.empty());
 
-        when(taskRepository.findById(id)).thenReturn(Optional.empty());
+        TaskException exception = assertThrows(TaskException.class, () -> taskAdapter.getTaskDtoById(1L));
 
-        TaskException exception = assertThrows(TaskException.class, () ->
-                taskAdapter.getTaskById(id));
-        assertTrue(exception.getErrorCode().is4xxClientError());
-
-        verify(taskRepository).findById(id);
+        assertEquals(HttpStatus.NOT_FOUND, exception.getErrorCode());
+        assertEquals(String.format(TaskConstant.TASK_NOT_FOUND_MESSAGE_ERROR, 1L), exception.getErrorMessage());
     }
 
     @Test
-    void testGetAllTaskReturnsList() {
-        TaskEntity entity = new TaskEntity();
-        entity.setId(1L);
-        entity.setTitle("Test Task");
+    void getAllTaskDto_shouldReturnProjections() {
+        TaskDto dto = new TaskDto();
+        dto.setId(1L);
 
-        Task domain = new Task();
-        domain.setId(1L);
-        domain.setTitle("Test Task");
+        when(taskRepository.findAllDto()).thenReturn(List.of(dto));
 
-        List<TaskEntity> entityList = List.of(entity);
+        List<TaskDto> result = taskAdapter.getAllTaskDto();
 
-        when(taskRepository.findAll()).thenReturn(entityList);
-        when(taskDboMapper.toDomain(entity)).thenReturn(domain);
+        assertEquals(1, result.size());
+        verify(taskRepository).findAllDto();
+        verifyNoInteractions(taskDboMapper);
+    }
 
-        List<Task> result = taskAdapter.getAllTask();
+    @Test
+    void getAllTaskDto_whenEmpty_shouldThrowException() {
+        when(taskRepository.findAllDto()).thenReturn(Collections.emptyList());
 
-        assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals("Test Task", result.get(0).getTitle());
+        TaskException exception = assertThrows(TaskException.class, () -> taskAdapter.getAllTaskDto());
 
-        verify(taskRepository).findAll();
-        verify(taskDboMapper).toDomain(entity);
+        assertEquals(HttpStatus.NOT_FOUND, exception.getErrorCode());
     }
 
     @Test
-    void testGetAllTaskThrowsExceptionWhenEmpty() {
-        when(taskRepository.findAll()).thenReturn(Collections.emptyList());
+    void exportTasks_shouldReadPagesAfterTheLastExportedIdUntilAShortPage() {
+        List<TaskDto> firstPage = new ArrayList<>();
+        for (long id = 1; id <= TaskConstant.EXPORT_PAGE_SIZE; id++) {
+            firstPage.add(taskDto(id));
+        }
+        Limit limit = Limit.of(TaskConstant.EXPORT_PAGE_SIZE);
+        when(taskRepository.findDtoPageAfter(0L, limit)).thenReturn(firstPage);
+        when(taskRepository.findDtoPageAfter((long) TaskConstant.EXPORT_PAGE_SIZE, limit))
+                .thenReturn(List.of(taskDto(700L)));
+
+        List<TaskDto> exported = new ArrayList<>();
+        taskAdapter.exportTasks(exported::add);
+
+        assertEquals(TaskConstant.EXPORT_PAGE_SIZE + 1, exported.size());
+        assertEquals(700L, exported.get(exported.size() - 1).getId());
+        verify(taskRepository, times(2)).findDtoPageAfter(any(), any());
+    }
 
-        TaskException exception = assertThrows(TaskException.class, () -> {
-            taskAdapter.getAllTask();
-        });
+    @Test
+    void getTaskPage_whenMoreRowsThanLimit_shouldReturnNextCursor() {
+        TaskEntity first = new TaskEntity();
+        first.setId(5L);
+        TaskEntity second = new TaskEntity();
+        second.setId(8L);
+        TaskEntity extra = new TaskEntity();
+        extra.setId(9L);
+
+        Task firstDomain = new Task();
+        firstDomain.setId(5L);
+        Task secondDomain = new Task();
+        secondDomain.setId(8L);
+
+        when(taskRepository.<TaskEntity, List<TaskEntity>>findBy(any(Specification.class), any()))
+                .thenReturn(List.of(first, second, extra));
+        when(taskDboMapper.toDomain(first)).thenReturn(firstDomain);
+        when(taskDboMapper.toDomain(second)).thenReturn(secondDomain);
+
+        TaskPage result = taskAdapter.getTaskPage(new TaskFilter(), 4L, 2);
+
+        assertEquals(2, result.getItems().size());
+        assertEquals(8L, result.getNextCursor());
+        verify(taskDboMapper, times(0)).toDomain(extra);
+    }
 
-        assertEquals(HttpStatus.NOT_FOUND, exception.getErrorCode());
+    @Test
+    void getTaskPage_whenLastPage_shouldReturnNullCursor() {
+        TaskEntity only = new TaskEntity();
+        only.setId(3L);
+        Task onlyDomain = new Task();
+        onlyDomain.setId(3L);
 
-        verify(taskRepository).findAll();
+        when(taskRepository.<TaskEntity, List<TaskEntity>>findBy(any(Specification.class), any())).thenReturn(List.of(only));
+        when(taskDboMapper.toDomain(only)).thenReturn(onlyDomain);
+
+        TaskPage result = taskAdapter.getTaskPage(TaskFilter.builder().idUser(1L).build(), null, 2);
+
+        assertEquals(1, result.getItems().size());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void getTaskPage_whenNoRows_shouldReturnEmptyPage() {
+        when(taskRepository.<TaskEntity, List<TaskEntity>>findBy(any(Specification.class), any())).thenReturn(Collections.emptyList());
+
+        TaskPage result = taskAdapter.getTaskPage(new TaskFilter(), 100L, 10);
+
+        assertTrue(result.getItems().isEmpty());
+        assertNull(result.getNextCursor());
         verifyNoInteractions(taskDboMapper);
     }
 
@@ -154,10 +224,11 @@ public class TaskSpringJpaAdapterTest {
         expected.setTitle("Test Task");
 
         when(userRepository.findById(1L)).thenReturn(Optional.of(userEntity));
-        when(taskStatusRepository.findById(2L)).thenReturn(Optional.of(statusEntity));
+        when(referenceDataCache.getTaskStatus(2L)).thenReturn(Optional.of(statusEntity));
+        when(taskStatusRepository.getReferenceById(2L)).thenReturn(statusEntity);
         when(taskDboMapper.toDbo(request)).thenReturn(entityToSave);
         when(taskRepository.save(entityToSave)).thenReturn(savedEntity);
-        when(taskDboMapper.toDomain(savedEntity)).thenReturn(expected);
+        when(taskDboMapper.toDomain(savedEntity, statusEntity)).thenReturn(expected);
 
         Task result = taskAdapter.createTask(request);
 
@@ -165,11 +236,15 @@ public class TaskSpringJpaAdapterTest {
         assertEquals(100L, result.getId());
         assertEquals("Test Task", result.getTitle());
 
+        assertEquals(userEntity, entityToSave.getUserEntity());
+        assertEquals(statusEntity, entityToSave.getTaskStatusEntity());
+
         verify(userRepository).findById(1L);
-        verify(taskStatusRepository).findById(2L);
+        verify(referenceDataCache).getTaskStatus(2L);
+        verify(taskStatusRepository, never()).findById(any());
         verify(taskRepository).save(entityToSave);
         verify(taskDboMapper).toDbo(request);
-        verify(taskDboMapper).toDomain(savedEntity);
+        verify(taskDboMapper).toDomain(savedEntity, statusEntity);
     }
 
     @Test
@@ -199,7 +274,7 @@ public class TaskSpringJpaAdapterTest {
         userEntity.setId(1L);
 
         when(userRepository.findById(1L)).thenReturn(Optional.of(userEntity));
-        when(taskStatusRepository.findById(2L)).thenReturn(Optional.empty());
+        when(referenceDataCache.getTaskStatus(2L)).thenReturn(Optional.empty());
 
         TaskStatusException exception = assertThrows(TaskStatusException.class, () -> {
             taskAdapter.createTask(request);
@@ -208,10 +283,44 @@ public class TaskSpringJpaAdapterTest {
         assertEquals(HttpStatus.NOT_FOUND, exception.getErrorCode());
 
         verify(userRepository).findById(1L);
-        verify(taskStatusRepository).findById(2L);
+        verify(referenceDataCache).getTaskStatus(2L);
         verifyNoInteractions(taskRepository, taskDboMapper);
     }
 
+    @Test
+    void createTasks_ShouldSaveValidItemsAndRejectTheRest() {
+        Task valid = new Task(null, "Valid", null, LocalDate.now(), 1L, null, 2L, null, null);
+        Task unknownUser = new Task(null, "Unknown user", null, LocalDate.now(), 9L, null, 2L, null, null);
+        Task withoutTitle = new Task(null, " ", null, LocalDate.now(), 1L, null, 2L, null, null);
+
+        UserEntity userEntity = new UserEntity();
+        userEntity.setId(1L);
+        TaskStatusEntity statusEntity = new TaskStatusEntity();
+        statusEntity.setId(2L);
+        TaskEntity entityToSave = new TaskEntity();
+        TaskEntity savedEntity = new TaskEntity();
+        Task savedTask = new Task();
+        savedTask.setId(100L);
+
+        when(userRepository.multiLoadById(List.of(1L, 9L))).thenReturn(List.of(userEntity));
+        when(referenceDataCache.getTaskStatus(2L)).thenReturn(Optional.of(statusEntity));
+        when(taskStatusRepository.getReferenceById(2L)).thenReturn(statusEntity);
+        when(taskDboMapper.toDbo(valid)).thenReturn(entityToSave);
+        when(taskRepository.saveAll(List.of(entityToSave))).thenReturn(List.of(savedEntity));
+        when(taskDboMapper.toDomain(savedEntity, statusEntity)).thenReturn(savedTask);
+
+        List<TaskBatchItem> result = taskAdapter.createTasks(List.of(valid, unknownUser, withoutTitle));
+
+        assertEquals(3, result.size());
+        assertEquals(100L, result.get(0).getTask().getId());
+        assertEquals(userEntity, entityToSave.getUserEntity());
+        assertEquals(statusEntity, entityToSave.getTaskStatusEntity());
+        assertNull(result.get(1).getTask());
+        assertTrue(result.get(1).getError().contains("9"));
+        assertEquals(TaskConstant.TASK_TITLE_REQUIRED_MESSAGE_ERROR, result.get(2).getError());
+        verify(taskRepository).flush();
+    }
+
     @Test
     void testUpdateTask_Success() {
         // Arrange
@@ -224,38 +333,34 @@ public class TaskSpringJpaAdapterTest {
         request.setLimitDate(LocalDate.now().plusDays(3));
         request.setIdUser(10L);
         request.setIdTaskStatus(100L);
-
-        // Entidades necesarias
-        TaskEntity existingTask = new TaskEntity();
-        existingTask.setId(idTask);
-
-        UserEntity userEntity = new UserEntity();
-        userEntity.setId(10L);
-        userEntity.setName("Juan");
+        request.setVersion(4L);
 
         TaskStatusEntity statusEntity = new TaskStatusEntity();
         statusEntity.setId(100L);
         statusEntity.setDescription("COMPLETADO");
 
-        // Optional mocks
-        when(taskRepository.findById(idTask)).thenReturn(Optional.of(existingTask));
-        when(userRepository.findById(10L)).thenReturn(Optional.of(userEntity));
-        when(taskStatusRepository.findById(100L)).thenReturn(Optional.of(statusEntity));
-        when(taskRepository.save(existingTask)).thenReturn(existingTask);
+        TaskEntity updatedTask = new TaskEntity();
+        updatedTask.setId(idTask);
+        updatedTask.setVersion(5L);
+
+        when(userRepository.findById(10L)).thenReturn(Optional.of(new UserEntity()));
+        when(referenceDataCache.getTaskStatus(100L)).thenReturn(Optional.of(statusEntity));
+        when(taskRepository.updateTask(idTask, request, 4L)).thenReturn(1);
+        when(taskRepository.findWithRelationsById(idTask)).thenReturn(Optional.of(updatedTask));
 
         Task expectedTask = new Task(); // objeto final mapeado
-        when(taskDboMapper.toDomain(existingTask)).thenReturn(expectedTask);
+        when(taskDboMapper.toDomain(updatedTask)).thenReturn(expectedTask);
 
         // Act
         Task result = taskAdapter.updateTask(request, idTask);
 
         // Assert
-        assertNotNull(result);
-        verify(taskRepository).findById(idTask);
-        verify(userRepository).findById(10L);
-        verify(taskStatusRepository).findById(100L);
-        verify(taskRepository).save(existingTask);
-        verify(taskDboMapper).toDomain(existingTask);
+        assertEquals(expectedTask, result);
+        verify(taskRepository).updateTask(idTask, request, 4L);
+        verify(taskRepository, never()).findById(any());
+        verify(taskRepository, never()).save(any());
+        verify(taskStatusRepository, never()).findById(any());
+        assertEquals(List.of(idTask), capturePublishedEvent().getIdTasks());
     }
 
     @Test
@@ -263,9 +368,10 @@ public class TaskSpringJpaAdapterTest {
         // Arrange
         Long idTask = 1L;
         Task request = new Task();
-        request.setIdUser(10L);
+        request.setTitle("Nueva tarea");
 
-        when(taskRepository.findById(idTask)).thenReturn(Optional.empty());
+        when(taskRepository.updateTask(idTask, request, null)).thenReturn(0);
+        when(taskRepository.findVersionById(idTask)).thenReturn(Optional.empty());
 
         // Act & Assert
         TaskException exception = assertThrows(TaskException.class, () -> {
@@ -273,7 +379,28 @@ public class TaskSpringJpaAdapterTest {
         });
 
         assertEquals(HttpStatus.NOT_FOUND, exception.getErrorCode());
-        verify(taskRepository).findById(idTask);
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void testUpdateTask_VersionChanged_ShouldThrowPreconditionFailed() {
+        // Arrange
+        Long idTask = 1L;
+        Task request = new Task();
+        request.setTitle("Nueva tarea");
+        request.setVersion(2L);
+
+        when(taskRepository.updateTask(idTask, request, 2L)).thenReturn(0);
+        when(taskRepository.findVersionById(idTask)).thenReturn(Optional.of(3L));
+
+        // Act & Assert
+        TaskVersionException exception = assertThrows(TaskVersionException.class, () -> {
+            taskAdapter.updateTask(request, idTask);
+        });
+
+        assertEquals(HttpStatus.PRECONDITION_FAILED, exception.getErrorCode());
+        assertTrue(exception.getErrorMessage().contains("current version is 3"));
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
@@ -283,10 +410,6 @@ public class TaskSpringJpaAdapterTest {
         Task request = new Task();
         request.setIdUser(10L);
 
-        TaskEntity existingTask = new TaskEntity();
-        existingTask.setId(idTask);
-
-        when(taskRepository.findById(idTask)).thenReturn(Optional.of(existingTask));
         when(userRepository.findById(10L)).thenReturn(Optional.empty());
 
         // Act & Assert
@@ -295,7 +418,7 @@ public class TaskSpringJpaAdapterTest {
         });
 
         assertEquals(HttpStatus.NOT_FOUND, exception.getErrorCode());
-        verify(userRepository).findById(10L);
+        verify(taskRepository, never()).updateTask(any(), any(), any());
     }
 
     @Test
@@ -306,12 +429,8 @@ public class TaskSpringJpaAdapterTest {
         request.setIdUser(10L);
         request.setIdTaskStatus(200L);
 
-        TaskEntity existingTask = new TaskEntity();
-        existingTask.setId(idTask);
-
-        when(taskRepository.findById(idTask)).thenReturn(Optional.of(existingTask));
         when(userRepository.findById(10L)).thenReturn(Optional.of(new UserEntity()));
-        when(taskStatusRepository.findById(200L)).thenReturn(Optional.empty());
+        when(referenceDataCache.getTaskStatus(200L)).thenReturn(Optional.empty());
 
         // Act & Assert
         TaskStatusException exception = assertThrows(TaskStatusException.class, () -> {
@@ -319,13 +438,63 @@ public class TaskSpringJpaAdapterTest {
         });
 
         assertEquals(HttpStatus.NOT_FOUND, exception.getErrorCode());
-        verify(taskStatusRepository).findById(200L);
+        verify(referenceDataCache).getTaskStatus(200L);
+        verify(taskRepository, never()).updateTask(any(), any(), any());
+    }
+
+    @Test
+    void getTasksByIds_ShouldReturnTheProjectedTasks() {
+        TaskDto dto = new TaskDto(1L, "Title", "Description", LocalDate.now(), 2L, "Juan", 3L, "Pendiente", 0L);
+        when(taskRepository.findAllDtoByIds(List.of(1L, 4L))).thenReturn(List.of(dto));
+
+        List<TaskDto> result = taskAdapter.getTasksByIds(List.of(1L, 4L));
+
+        assertEquals(List.of(dto), result);
+        verify(taskRepository, never()).findAllById(any());
     }
 
     @Test
     void deleteTaskById_ShouldCallRepositoryDeleteById() {
         Long taskId = 1L;
+        when(taskRepository.deleteTaskById(taskId)).thenReturn(1);
+
         taskAdapter.deleteTaskById(taskId);
-        verify(taskRepository, times(1)).deleteById(taskId);
+
+        verify(taskRepository, times(1)).deleteTaskById(taskId);
+        verify(taskRepository, never()).findById(any());
+        assertEquals(List.of(taskId), capturePublishedEvent().getIdTasks());
+    }
+
+    @Test
+    void deleteTaskById_whenNothingWasDeleted_ShouldThrowNotFound() {
+        when(taskRepository.deleteTaskById(9L)).thenReturn(0);
+
+        TaskException exception = assertThrows(TaskException.class, () -> taskAdapter.deleteTaskById(9L));
+
+        assertEquals(HttpStatus.NOT_FOUND, exception.getErrorCode());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void deleteTasksByIds_ShouldDeleteWithOneStatementAndInvalidateEveryId() {
+        List<Long> ids = List.of(1L, 2L, 3L);
+        when(taskRepository.deleteTasksByIds(ids)).thenReturn(2);
+
+        int deleted = taskAdapter.deleteTasksByIds(ids);
+
+        assertEquals(2, deleted);
+        assertEquals(ids, capturePublishedEvent().getIdTasks());
+    }
+
+    private TaskChangedEvent capturePublishedEvent() {
+        ArgumentCaptor<TaskChangedEvent> captor = ArgumentCaptor.forClass(TaskChangedEvent.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        return captor.getValue();
+    }
+
+    private TaskDto taskDto(Long id) {
+        TaskDto task = new TaskDto();
+        task.setId(id);
+        return task;
     }
 }
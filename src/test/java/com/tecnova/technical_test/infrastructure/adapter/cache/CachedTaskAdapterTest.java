@@ -0,0 +1,162 @@
+package com.tecnova.technical_test.infrastructure.adapter.cache;
+
+import com.tecnova.technical_test.domain.model.Task;
+import com.tecnova.technical_test.domain.model.dto.TaskDto;
+import com.tecnova.technical_test.domain.model.event.TaskChangedEvent;
+import com.tecnova.technical_test.infrastructure.adapter.TaskSpringJpaAdapter;
+import com.tecnova.technical_test.infrastructure.adapter.config.TaskCacheProperties;
+import com.tecnova.technical_test.infrastructure.adapter.exceptions.TaskException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CachedTaskAdapterTest {
+
+    @Mock
+    private TaskSpringJpaAdapter taskAdapter;
+
+    private TaskCache taskCache;
+
+    private CachedTaskAdapter cachedTaskAdapter;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        taskCache = new TaskCache(new TaskCacheProperties(), new SimpleMeterRegistry());
+        cachedTaskAdapter = new CachedTaskAdapter(taskAdapter, taskCache);
+    }
+
+    @Test
+    void getTaskDtoById_whenCalledTwice_shouldQueryTheAdapterOnce() {
+        TaskDto task = task(3L, 0L);
+        when(taskAdapter.getTaskDtoById(3L)).thenReturn(task);
+
+        cachedTaskAdapter.getTaskDtoById(3L);
+        TaskDto result = cachedTaskAdapter.getTaskDtoById(3L);
+
+        assertEquals(3L, result.getId());
+        verify(taskAdapter, times(1)).getTaskDtoById(3L);
+    }
+
+    @Test
+    void getTaskDtoById_whenTheCallerModifiesTheResult_shouldKeepTheCachedTaskUnchanged() {
+        TaskDto task = task(3L, 0L);
+        task.setTitle("Tarea");
+        when(taskAdapter.getTaskDtoById(3L)).thenReturn(task);
+
+        cachedTaskAdapter.getTaskDtoById(3L).setTitle("Modificada por quien la leyo");
+        task.setTitle("Modificada por el adapter");
+        TaskDto result = cachedTaskAdapter.getTaskDtoById(3L);
+
+        assertEquals("Tarea", result.getTitle());
+        assertNotSame(result, cachedTaskAdapter.getTaskDtoById(3L));
+    }
+
+    @Test
+    void getTaskDtoById_whenNotFound_shouldNotCacheTheError() {
+        when(taskAdapter.getTaskDtoById(7L)).thenThrow(new TaskException(HttpStatus.NOT_FOUND, "not found"));
+
+        assertThrows(TaskException.class, () -> cachedTaskAdapter.getTaskDtoById(7L));
+        assertThrows(TaskException.class, () -> cachedTaskAdapter.getTaskDtoById(7L));
+
+        verify(taskAdapter, times(2)).getTaskDtoById(7L);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void getTasksByIds_shouldQueryOnlyTheTasksMissingFromTheCache() {
+        when(taskAdapter.getTaskDtoById(2L)).thenReturn(task(2L, 0L));
+        cachedTaskAdapter.getTaskDtoById(2L);
+        when(taskAdapter.getTasksByIds(any())).thenReturn(List.of(task(5L, 0L)));
+
+        List<TaskDto> result = cachedTaskAdapter.getTasksByIds(List.of(5L, 9L, 2L));
+
+        assertEquals(Set.of(2L, 5L), Set.copyOf(result.stream().map(TaskDto::getId).toList()));
+        ArgumentCaptor<List<Long>> idsCaptor = ArgumentCaptor.forClass(List.class);
+        verify(taskAdapter, times(1)).getTasksByIds(idsCaptor.capture());
+        assertEquals(Set.of(5L, 9L), Set.copyOf(idsCaptor.getValue()));
+    }
+
+    @Test
+    void getTaskVersion_whenTaskIsCached_shouldNotQueryTheAdapter() {
+        when(taskAdapter.getTaskDtoById(4L)).thenReturn(task(4L, 2L));
+        cachedTaskAdapter.getTaskDtoById(4L);
+
+        assertEquals(2L, cachedTaskAdapter.getTaskVersion(4L));
+        verify(taskAdapter, never()).getTaskVersion(any());
+    }
+
+    @Test
+    void getTaskVersion_whenTaskIsNotCached_shouldQueryOnlyTheVersion() {
+        when(taskAdapter.getTaskVersion(8L)).thenReturn(5L);
+
+        assertEquals(5L, cachedTaskAdapter.getTaskVersion(8L));
+        verify(taskAdapter, never()).getTaskDtoById(any());
+    }
+
+    @Test
+    void updateTask_shouldDelegateAndReadAgainAfterTheInvalidation() {
+        when(taskAdapter.getTaskDtoById(6L)).thenReturn(task(6L, 0L), task(6L, 1L));
+        cachedTaskAdapter.getTaskDtoById(6L);
+        Task request = new Task();
+
+        cachedTaskAdapter.updateTask(request, 6L);
+        taskCache.onTaskChanged(new TaskChangedEvent(List.of(6L)));
+
+        verify(taskAdapter).updateTask(request, 6L);
+        assertEquals(1L, cachedTaskAdapter.getTaskDtoById(6L).getVersion());
+    }
+
+    @Test
+    void getTaskDtoById_whenAnUpdateCommitsDuringTheLoad_shouldReadTheNewVersionNextTime() {
+        when(taskAdapter.getTaskDtoById(6L)).thenAnswer(invocation -> {
+            TaskDto stale = task(6L, 0L);
+            //La lectura ya obtuvo la version 0 cuando el update confirma y publica su evento
+            cachedTaskAdapter.updateTask(new Task(), 6L);
+            taskCache.onTaskChanged(new TaskChangedEvent(List.of(6L)));
+            return stale;
+        }).thenReturn(task(6L, 1L));
+
+        assertEquals(0L, cachedTaskAdapter.getTaskDtoById(6L).getVersion());
+        assertEquals(1L, cachedTaskAdapter.getTaskDtoById(6L).getVersion());
+        assertEquals(1L, cachedTaskAdapter.getTaskVersion(6L));
+        verify(taskAdapter, times(2)).getTaskDtoById(6L);
+    }
+
+    @Test
+    void getTasksByIds_whenAnUpdateCommitsDuringTheLoad_shouldNotCacheTheStaleTask() {
+        when(taskAdapter.getTasksByIds(any())).thenAnswer(invocation -> {
+            List<TaskDto> stale = List.of(task(5L, 0L));
+            taskCache.onTaskChanged(new TaskChangedEvent(List.of(5L)));
+            return stale;
+        });
+        when(taskAdapter.getTaskDtoById(5L)).thenReturn(task(5L, 1L));
+
+        cachedTaskAdapter.getTasksByIds(List.of(5L));
+
+        assertEquals(1L, cachedTaskAdapter.getTaskDtoById(5L).getVersion());
+    }
+
+    private TaskDto task(Long id, Long version) {
+        TaskDto task = new TaskDto();
+        task.setId(id);
+        task.setVersion(version);
+        return task;
+    }
+}
@@ -0,0 +1,103 @@
+package com.tecnova.technical_test.infrastructure.adapter.cache;
+
+import com.tecnova.technical_test.infrastructure.adapter.entity.RoleEntity;
+import com.tecnova.technical_test.infrastructure.adapter.entity.TaskStatusEntity;
+import com.tecnova.technical_test.infrastructure.adapter.enums.RoleList;
+import com.tecnova.technical_test.infrastructure.adapter.repository.IRoleRepository;
+import com.tecnova.technical_test.infrastructure.adapter.repository.ITaskStatusRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReferenceDataCacheTest {
+
+    @Mock
+    private ITaskStatusRepository taskStatusRepository;
+
+    @Mock
+    private IRoleRepository roleRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ReferenceDataCache referenceDataCache;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        referenceDataCache = new ReferenceDataCache(taskStatusRepository, roleRepository, meterRegistry);
+
+        when(taskStatusRepository.findAll()).thenReturn(List.of(new TaskStatusEntity(1L, "Pendiente", null)));
+        when(roleRepository.findAll()).thenReturn(List.of(new RoleEntity(2, RoleList.ROLE_ADMIN)));
+        referenceDataCache.warmUp();
+    }
+
+    @Test
+    void getTaskStatus_whenWarmedUp_shouldNotQueryTheRepository() {
+        var taskStatus = referenceDataCache.getTaskStatus(1L);
+
+        assertEquals("Pendiente", taskStatus.orElseThrow().getDescription());
+        verify(taskStatusRepository, never()).findById(1L);
+        assertEquals(1.0, count(ReferenceDataCache.TASK_STATUS_CACHE, "hit"));
+        assertEquals(0.0, count(ReferenceDataCache.TASK_STATUS_CACHE, "miss"));
+    }
+
+    @Test
+    void getTaskStatus_whenMissing_shouldLoadItOnceAndCountTheMiss() {
+        when(taskStatusRepository.findById(5L)).thenReturn(Optional.of(new TaskStatusEntity(5L, "Nuevo", null)));
+
+        referenceDataCache.getTaskStatus(5L);
+        referenceDataCache.getTaskStatus(5L);
+
+        verify(taskStatusRepository, times(1)).findById(5L);
+        assertEquals(1.0, count(ReferenceDataCache.TASK_STATUS_CACHE, "miss"));
+        assertEquals(1.0, count(ReferenceDataCache.TASK_STATUS_CACHE, "hit"));
+    }
+
+    @Test
+    void getTaskStatus_whenIdIsNullOrUnknown_shouldReturnEmpty() {
+        when(taskStatusRepository.findById(9L)).thenReturn(Optional.empty());
+
+        assertTrue(referenceDataCache.getTaskStatus(null).isEmpty());
+        assertTrue(referenceDataCache.getTaskStatus(9L).isEmpty());
+    }
+
+    @Test
+    void getRole_shouldServeWarmedRolesAndFallBackOnMiss() {
+        when(roleRepository.findByName(RoleList.ROLE_USER)).thenReturn(Optional.of(new RoleEntity(1, RoleList.ROLE_USER)));
+
+        assertEquals(2, referenceDataCache.getRole(RoleList.ROLE_ADMIN).orElseThrow().getId());
+        assertEquals(1, referenceDataCache.getRole(RoleList.ROLE_USER).orElseThrow().getId());
+
+        verify(roleRepository, never()).findByName(RoleList.ROLE_ADMIN);
+        assertEquals(1.0, count(ReferenceDataCache.ROLE_CACHE, "hit"));
+        assertEquals(1.0, count(ReferenceDataCache.ROLE_CACHE, "miss"));
+    }
+
+    @Test
+    void refresh_shouldReplaceTheCachedEntries() {
+        when(taskStatusRepository.findAll()).thenReturn(List.of(
+                new TaskStatusEntity(1L, "Pendiente", null), new TaskStatusEntity(2L, "En progreso", null)));
+
+        referenceDataCache.refresh();
+
+        assertEquals(2, referenceDataCache.taskStatusCount());
+        assertEquals(1, referenceDataCache.roleCount());
+    }
+
+    private double count(String cache, String result) {
+        return meterRegistry.get(ReferenceDataCache.METRIC_NAME).tag("cache", cache).tag("result", result)
+                .counter().count();
+    }
+}
@@ -0,0 +1,28 @@
+package com.tecnova.technical_test.infrastructure.adapter.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReferenceDataEndpointTest {
+
+    private final ReferenceDataCache referenceDataCache = mock(ReferenceDataCache.class);
+    private final ReferenceDataEndpoint referenceDataEndpoint = new ReferenceDataEndpoint(referenceDataCache);
+
+    @Test
+    void refresh_shouldReloadTheCacheAndReturnTheEntries() {
+        when(referenceDataCache.taskStatusCount()).thenReturn(3);
+        when(referenceDataCache.roleCount()).thenReturn(2);
+
+        Map<String, Integer> entries = referenceDataEndpoint.refresh();
+
+        verify(referenceDataCache).refresh();
+        assertEquals(3, entries.get(ReferenceDataCache.TASK_STATUS_CACHE));
+        assertEquals(2, entries.get(ReferenceDataCache.ROLE_CACHE));
+    }
+}
@@ -0,0 +1,119 @@
+package com.tecnova.technical_test.infrastructure.adapter.cache;
+
+import com.tecnova.technical_test.domain.model.dto.TaskDto;
+import com.tecnova.technical_test.domain.model.event.TaskChangedEvent;
+import com.tecnova.technical_test.infrastructure.adapter.config.TaskCacheProperties;
+import com.tecnova.technical_test.infrastructure.adapter.exceptions.TaskException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TaskCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private TaskCache taskCache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        TaskCacheProperties properties = new TaskCacheProperties();
+        properties.setMaximumSize(10);
+        taskCache = new TaskCache(properties, meterRegistry);
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void get_whenCached_shouldLoadOnceAndRecordTheHit() {
+        taskCache.get(1L, loader());
+        TaskDto result = taskCache.get(1L, loader());
+
+        assertEquals(1L, result.getId());
+        assertEquals(1, loads.get());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", TaskCache.CACHE_NAME)
+                .tag("result", "hit").functionCounter().count());
+        assertEquals(0.5, meterRegistry.get("cache.hit.ratio").gauge().value());
+    }
+
+    @Test
+    void onTaskChanged_shouldInvalidateOnlyTheChangedTasks() {
+        taskCache.get(1L, loader());
+        taskCache.get(2L, loader());
+
+        taskCache.onTaskChanged(new TaskChangedEvent(List.of(1L)));
+        taskCache.get(1L, loader());
+        taskCache.get(2L, loader());
+
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void get_whenTaskIsMissing_shouldNotCacheTheError() {
+        Function<Long, TaskDto> missing = id -> {
+            loads.incrementAndGet();
+            throw new TaskException(HttpStatus.NOT_FOUND, "not found");
+        };
+
+        assertThrows(TaskException.class, () -> taskCache.get(9L, missing));
+        assertThrows(TaskException.class, () -> taskCache.get(9L, missing));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_whenInvalidatedWhileLoading_shouldReturnButNotCacheTheLoadedValue() {
+        Function<Long, TaskDto> loaderWithConcurrentUpdate = id -> {
+            TaskDto loaded = loader().apply(id);
+            //El update hace commit mientras la carga ya leyo la version anterior
+            taskCache.onTaskChanged(new TaskChangedEvent(List.of(id)));
+            return loaded;
+        };
+
+        TaskDto result = taskCache.get(4L, loaderWithConcurrentUpdate);
+        taskCache.get(4L, loader());
+
+        assertEquals(4L, result.getId());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void getAll_whenOneTaskIsInvalidatedWhileLoading_shouldCacheOnlyTheOthers() {
+        Map<Long, TaskDto> result = taskCache.getAll(List.of(5L, 6L), ids -> {
+            Map<Long, TaskDto> loaded = Map.of(5L, loader().apply(5L), 6L, loader().apply(6L));
+            taskCache.onTaskChanged(new TaskChangedEvent(List.of(6L)));
+            return loaded;
+        });
+        taskCache.get(5L, loader());
+        taskCache.get(6L, loader());
+
+        assertEquals(List.of(5L, 6L), List.copyOf(result.keySet()));
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void get_whenInvalidatedBeforeLoading_shouldCacheTheLoadedValue() {
+        taskCache.onTaskChanged(new TaskChangedEvent(List.of(7L)));
+
+        taskCache.get(7L, loader());
+        taskCache.get(7L, loader());
+
+        assertEquals(1, loads.get());
+    }
+
+    private Function<Long, TaskDto> loader() {
+        return id -> {
+            loads.incrementAndGet();
+            TaskDto dto = new TaskDto();
+            dto.setId(id);
+            return dto;
+        };
+    }
+}
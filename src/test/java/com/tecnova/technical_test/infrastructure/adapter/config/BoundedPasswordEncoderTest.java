@@ -0,0 +1,122 @@
+package com.tecnova.technical_test.infrastructure.adapter.config;
+
+import com.tecnova.technical_test.infrastructure.adapter.exceptions.ServiceBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoundedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private BoundedPasswordEncoder passwordEncoder;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        passwordEncoder.close();
+    }
+
+    @Test
+    void encodeAndMatches_shouldRunOnThePoolAndRecordTheHashLatency() {
+        passwordEncoder = new BoundedPasswordEncoder(new ThreadNamePasswordEncoder(), properties(2, 4), meterRegistry);
+
+        assertTrue(passwordEncoder.encode("secret").startsWith("password-hashing-"));
+        assertTrue(passwordEncoder.matches("secret", "secret"));
+        assertFalse(passwordEncoder.matches("secret", "other"));
+
+        assertEquals(1, meterRegistry.get("password.hashing.duration").tag("operation", "encode").timer().count());
+        assertEquals(1, meterRegistry.get("password.hashing.duration").tag("operation", "matches")
+                .tag("outcome", "success").timer().count());
+        assertEquals(1, meterRegistry.get("password.hashing.duration").tag("operation", "matches")
+                .tag("outcome", "failure").timer().count());
+        assertEquals(0, meterRegistry.get("executor.queued").tag("name", BoundedPasswordEncoder.EXECUTOR_NAME)
+                .gauge().value());
+    }
+
+    @Test
+    void encode_withPoolAndQueueFull_shouldRejectWithRetryAfter() throws Exception {
+        passwordEncoder = new BoundedPasswordEncoder(new BlockingPasswordEncoder(), properties(1, 1), meterRegistry);
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> passwordEncoder.encode("first"));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> passwordEncoder.encode("second"));
+        waitUntilQueued(1);
+
+        ServiceBusyException exception = assertThrows(ServiceBusyException.class,
+                () -> passwordEncoder.encode("third"));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exception.getErrorCode());
+        assertEquals(2, exception.getRetryAfterSeconds());
+        assertEquals(1, meterRegistry.get("password.hashing.rejected").counter().count());
+
+        release.countDown();
+        assertEquals("first", running.get(5, TimeUnit.SECONDS));
+        assertEquals("second", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void matches_whenTheDelegateFails_shouldRethrowItsException() {
+        PasswordEncoder failing = new ThreadNamePasswordEncoder() {
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                throw new IllegalArgumentException("Encoded password does not look like BCrypt");
+            }
+        };
+        passwordEncoder = new BoundedPasswordEncoder(failing, properties(1, 1), meterRegistry);
+
+        assertThrows(IllegalArgumentException.class, () -> passwordEncoder.matches("secret", "plain"));
+    }
+
+    private void waitUntilQueued(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("executor.queued").tag("name", BoundedPasswordEncoder.EXECUTOR_NAME)
+                .gauge().value() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private PasswordHashingProperties properties(int threads, int queueCapacity) {
+        PasswordHashingProperties properties = new PasswordHashingProperties();
+        properties.setThreads(threads);
+        properties.setQueueCapacity(queueCapacity);
+        properties.setRetryAfter(Duration.ofSeconds(2));
+        return properties;
+    }
+
+    private static class ThreadNamePasswordEncoder implements PasswordEncoder {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return Thread.currentThread().getName();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return rawPassword.toString().equals(encodedPassword);
+        }
+    }
+
+    private class BlockingPasswordEncoder extends ThreadNamePasswordEncoder {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return rawPassword.toString();
+        }
+    }
+}
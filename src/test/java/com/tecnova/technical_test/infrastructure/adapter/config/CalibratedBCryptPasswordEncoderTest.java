@@ -0,0 +1,71 @@
+package com.tecnova.technical_test.infrastructure.adapter.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CalibratedBCryptPasswordEncoderTest {
+
+    private static final long TEN_MILLIS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    @Test
+    void calibrateStrength_shouldPickTheCostClosestToTheTargetHashTime() {
+        AtomicInteger hashes = new AtomicInteger();
+
+        int strength = CalibratedBCryptPasswordEncoder.calibrateStrength(Duration.ofMillis(100), 10, 16,
+                measuredStrength -> {
+                    hashes.incrementAndGet();
+                    assertEquals(10, measuredStrength);
+                    return TEN_MILLIS;
+                });
+
+        //10 ms * 2^3 = 80 ms es lo mas cercano a 100 ms
+        assertEquals(13, strength);
+        assertEquals(4, hashes.get());
+    }
+
+    @Test
+    void calibrateStrength_shouldStayWithinTheConfiguredBounds() {
+        assertEquals(10, CalibratedBCryptPasswordEncoder.calibrateStrength(Duration.ofMillis(1), 10, 16,
+                measuredStrength -> TEN_MILLIS));
+        assertEquals(16, CalibratedBCryptPasswordEncoder.calibrateStrength(Duration.ofSeconds(60), 10, 16,
+                measuredStrength -> TEN_MILLIS));
+    }
+
+    @Test
+    void calibrate_withFixedStrength_shouldSkipTheMeasurement() {
+        PasswordHashingProperties properties = new PasswordHashingProperties();
+        properties.setBcryptStrength(5);
+
+        CalibratedBCryptPasswordEncoder encoder = CalibratedBCryptPasswordEncoder.calibrate(properties);
+
+        assertEquals(5, encoder.getStrength());
+        assertTrue(encoder.encode("secret").startsWith("$2a$05$"));
+    }
+
+    @Test
+    void upgradeEncoding_shouldRehashWhenTheStoredCostDiffers() {
+        CalibratedBCryptPasswordEncoder encoder = new CalibratedBCryptPasswordEncoder(5);
+
+        assertFalse(encoder.upgradeEncoding(encoder.encode("secret")));
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("secret")));
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("secret")));
+        assertFalse(encoder.upgradeEncoding(null));
+        assertFalse(encoder.upgradeEncoding("plain"));
+    }
+
+    @Test
+    void matches_shouldAcceptHashesWithAnotherCost() {
+        CalibratedBCryptPasswordEncoder encoder = new CalibratedBCryptPasswordEncoder(5);
+
+        assertTrue(encoder.matches("secret", new BCryptPasswordEncoder(4).encode("secret")));
+        assertFalse(encoder.matches("other", new BCryptPasswordEncoder(4).encode("secret")));
+    }
+}
@@ -0,0 +1,180 @@
+package com.tecnova.technical_test.infrastructure.adapter.config;
+
+import com.tecnova.technical_test.infrastructure.adapter.exceptions.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LoginRateLimiterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final AtomicLong now = new AtomicLong();
+
+    private LoginRateLimitProperties properties;
+
+    private LoginRateLimiter loginRateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        properties = new LoginRateLimitProperties();
+        properties.setWindow(Duration.ofMinutes(1));
+        properties.setMaxAttemptsPerUser(3);
+        properties.setMaxAttemptsPerIp(5);
+        loginRateLimiter = new LoginRateLimiter(properties, meterRegistry, now::get);
+    }
+
+    @Test
+    void acquire_overTheUserLimit_shouldRejectUntilTheOldestAttemptLeavesTheWindow() {
+        loginRateLimiter.acquire("lmontoya", "10.0.0.1");
+        advanceSeconds(20);
+        loginRateLimiter.acquire("lmontoya", "10.0.0.2");
+        loginRateLimiter.acquire("lmontoya", "10.0.0.3");
+
+        TooManyRequestsException exception = assertThrows(TooManyRequestsException.class,
+                () -> loginRateLimiter.acquire("lmontoya", "10.0.0.4"));
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, exception.getErrorCode());
+        assertEquals(40, exception.getRetryAfterSeconds());
+        assertEquals(1, rejected("user"));
+
+        //Otro usuario desde la misma IP no se ve afectado
+        assertDoesNotThrow(() -> loginRateLimiter.acquire("jlopez", "10.0.0.4"));
+
+        advanceSeconds(40);
+        assertDoesNotThrow(() -> loginRateLimiter.acquire("lmontoya", "10.0.0.4"));
+    }
+
+    @Test
+    void acquire_overTheIpLimit_shouldRejectAnyUserFromThatIp() {
+        for (int i = 0; i < 5; i++) {
+            loginRateLimiter.acquire("user" + i, "10.0.0.1");
+        }
+
+        assertThrows(TooManyRequestsException.class, () -> loginRateLimiter.acquire("other", "10.0.0.1"));
+        assertDoesNotThrow(() -> loginRateLimiter.acquire("other", "10.0.0.2"));
+        assertEquals(1, rejected("ip"));
+        assertEquals(0, rejected("user"));
+    }
+
+    @Test
+    void acquire_rejectedByTheUserLimit_shouldNotConsumeTheIpWindow() {
+        for (int i = 0; i < 3; i++) {
+            loginRateLimiter.acquire("lmontoya", "10.0.0.1");
+        }
+        for (int i = 0; i < 10; i++) {
+            assertThrows(TooManyRequestsException.class, () -> loginRateLimiter.acquire("lmontoya", "10.0.0.1"));
+        }
+
+        //La IP lleva 3 intentos admitidos de 5, los rechazados no cuentan
+        loginRateLimiter.acquire("jlopez", "10.0.0.1");
+        loginRateLimiter.acquire("jlopez", "10.0.0.1");
+        assertThrows(TooManyRequestsException.class, () -> loginRateLimiter.acquire("jlopez", "10.0.0.1"));
+        assertEquals(10, rejected("user"));
+        assertEquals(1, rejected("ip"));
+    }
+
+    @Test
+    void acquire_rejectedByTheIpLimit_shouldNotConsumeTheUserWindow() {
+        for (int i = 0; i < 5; i++) {
+            loginRateLimiter.acquire("user" + i, "10.0.0.1");
+        }
+        for (int i = 0; i < 5; i++) {
+            assertThrows(TooManyRequestsException.class, () -> loginRateLimiter.acquire("lmontoya", "10.0.0.1"));
+        }
+
+        for (int i = 0; i < 3; i++) {
+            loginRateLimiter.acquire("lmontoya", "10.0.0.2");
+        }
+        assertEquals(5, rejected("ip"));
+        assertEquals(0, rejected("user"));
+    }
+
+    @Test
+    void acquire_concurrentAttemptsForTheSameUser_shouldAdmitOnlyTheUserLimit() throws InterruptedException {
+        int threads = 16;
+        AtomicInteger admitted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        for (int i = 0; i < threads; i++) {
+            String clientIp = "10.0.1." + i;
+            executor.submit(() -> {
+                start.await();
+                for (int attempt = 0; attempt < 50; attempt++) {
+                    try {
+                        loginRateLimiter.acquire("lmontoya", clientIp);
+                        admitted.incrementAndGet();
+                    } catch (TooManyRequestsException e) {
+                        //Esperado una vez agotado el cupo del usuario
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(3, admitted.get());
+        assertEquals(threads * 50 - 3, rejected("user"));
+    }
+
+    @Test
+    void reset_afterSuccessfulLogin_shouldClearTheUserWindow() {
+        for (int i = 0; i < 3; i++) {
+            loginRateLimiter.acquire("lmontoya", "10.0.0.1");
+        }
+
+        loginRateLimiter.reset("lmontoya");
+
+        assertDoesNotThrow(() -> loginRateLimiter.acquire("lmontoya", "10.0.0.1"));
+    }
+
+    @Test
+    void acquire_afterTheWindow_shouldExpireIdleKeys() {
+        loginRateLimiter.acquire("lmontoya", "10.0.0.1");
+        assertEquals(1, tracked("user"));
+
+        advanceSeconds(61);
+
+        assertEquals(0, tracked("user"));
+        assertEquals(0, tracked("ip"));
+    }
+
+    @Test
+    void acquire_whenDisabled_shouldNotLimit() {
+        properties.setEnabled(false);
+
+        for (int i = 0; i < 10; i++) {
+            loginRateLimiter.acquire("lmontoya", "10.0.0.1");
+        }
+
+        assertEquals(0, tracked("user"));
+    }
+
+    private void advanceSeconds(long seconds) {
+        now.addAndGet(TimeUnit.SECONDS.toNanos(seconds));
+    }
+
+    private double rejected(String key) {
+        return meterRegistry.get("login.rate.limit.rejected").tag("key", key).counter().count();
+    }
+
+    private double tracked(String key) {
+        return meterRegistry.get("login.rate.limit.tracked").tag("key", key).gauge().value();
+    }
+}
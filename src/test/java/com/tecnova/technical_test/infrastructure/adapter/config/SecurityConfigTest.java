@@ -0,0 +1,68 @@
+package com.tecnova.technical_test.infrastructure.adapter.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.filter.CorsFilter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SecurityConfigTest {
+
+    private static final String ORIGIN = "http://localhost:4200";
+
+    private final CorsFilter corsFilter = new CorsFilter(new SecurityConfig().corsConfigurationSource());
+
+    @Test
+    void preflightAllowsConditionalReadHeader() throws Exception {
+        MockHttpServletResponse response = preflight("GET", "Authorization, If-None-Match");
+
+        assertEquals(200, response.getStatus());
+        assertTrue(response.getHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_HEADERS).contains("If-None-Match"));
+        assertEquals(ORIGIN, response.getHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN));
+    }
+
+    @Test
+    void preflightAllowsConditionalUpdateHeader() throws Exception {
+        MockHttpServletResponse response = preflight("PUT", "Authorization, Content-Type, If-Match");
+
+        assertEquals(200, response.getStatus());
+        assertTrue(response.getHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_HEADERS).contains("If-Match"));
+        assertTrue(response.getHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_METHODS).contains("PUT"));
+    }
+
+    @Test
+    void preflightRejectsUnknownHeader() throws Exception {
+        MockHttpServletResponse response = preflight("GET", "X-Unknown");
+
+        assertEquals(403, response.getStatus());
+        assertNull(response.getHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN));
+    }
+
+    @Test
+    void actualRequestExposesETag() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/app/task/1");
+        request.addHeader(HttpHeaders.ORIGIN, ORIGIN);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        corsFilter.doFilter(request, response, new MockFilterChain());
+
+        assertEquals(ORIGIN, response.getHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN));
+        assertEquals("ETag", response.getHeader(HttpHeaders.ACCESS_CONTROL_EXPOSE_HEADERS));
+    }
+
+    private MockHttpServletResponse preflight(String method, String headers) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("OPTIONS", "/app/task/1");
+        request.addHeader(HttpHeaders.ORIGIN, ORIGIN);
+        request.addHeader(HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD, method);
+        request.addHeader(HttpHeaders.ACCESS_CONTROL_REQUEST_HEADERS, headers);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        corsFilter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
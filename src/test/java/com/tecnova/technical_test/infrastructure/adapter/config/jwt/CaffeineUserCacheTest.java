@@ -0,0 +1,36 @@
+package com.tecnova.technical_test.infrastructure.adapter.config.jwt;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Duration;
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class CaffeineUserCacheTest {
+
+    @Test
+    void putUserInCache_shouldBeReturnedUntilRemoved() {
+        CaffeineUserCache userCache = new CaffeineUserCache(Duration.ofMinutes(1), 10);
+        UserDetails user = new User("cached", "password", new ArrayList<>());
+
+        userCache.putUserInCache(user);
+        assertSame(user, userCache.getUserFromCache("cached"));
+
+        userCache.removeUserFromCache("cached");
+        assertNull(userCache.getUserFromCache("cached"));
+    }
+
+    @Test
+    void getUserFromCache_whenTtlIsElapsed_shouldReturnNull() throws InterruptedException {
+        CaffeineUserCache userCache = new CaffeineUserCache(Duration.ofMillis(1), 10);
+        userCache.putUserInCache(new User("expired", "password", new ArrayList<>()));
+
+        Thread.sleep(20);
+
+        assertNull(userCache.getUserFromCache("expired"));
+    }
+}
@@ -1,6 +1,9 @@
 package com.tecnova.technical_test.infrastructure.adapter.config.jwt;
 
 import com.tecnova.technical_test.application.service.AppUserService;
+import com.tecnova.technical_test.infrastructure.adapter.config.JwtProperties;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -10,13 +13,16 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserCache;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -33,6 +39,12 @@ class JwtAuthenticationFilterTest {
     @Mock
     private AppUserService appUserService;
 
+    @Mock
+    private JwtProperties jwtProperties;
+
+    @Mock
+    private UserCache userCache;
+
     @Mock
     private HttpServletRequest request;
 
@@ -49,21 +61,23 @@ class JwtAuthenticationFilterTest {
     private final String TEST_USERNAME = "testuser";
     private final String VALID_JWT = "Bearer eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9.eyJzdWIiOiJ0ZXN0dXNlciIsImlhdCI6MTYxMjM0NTY3OCwiZXhwIjoxNjEyMzQ5Mjc4fQ.signature";
     private final String INVALID_JWT = "Bearer invalid.jwt.token";
+    private Claims claims;
 
 
     @BeforeEach
     void setUp() {
         SecurityContextHolder.clearContext();
         userDetails = new User(TEST_USERNAME, "password", new ArrayList<>()); // Usamos la clase User de Spring Security
+        claims = Jwts.claims().setSubject(TEST_USERNAME);
     }
 
 
     @Test
     void doFilterInternal_whenValidTokenAndUserAuthenticated_shouldSetAuthenticationInContext() throws ServletException, IOException {
         when(request.getHeader("Authorization")).thenReturn(VALID_JWT);
-        when(jwtUtil.extractUserName(anyString())).thenReturn(TEST_USERNAME);
+        when(jwtUtil.extractAllClaims(anyString())).thenReturn(claims);
         when(appUserService.loadUserByUsername(TEST_USERNAME)).thenReturn(userDetails);
-        when(jwtUtil.validateToken(anyString(), eq(userDetails))).thenReturn(true); // Token es válido para el UserDetails
+        when(jwtUtil.validateToken(claims, userDetails)).thenReturn(true); // Token es válido para el UserDetails
 
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
@@ -73,9 +87,11 @@ class JwtAuthenticationFilterTest {
         verify(filterChain).doFilter(request, response);
 
         verify(request).getHeader("Authorization");
-        verify(jwtUtil).extractUserName(anyString());
+        verify(jwtUtil).extractAllClaims(anyString());
         verify(appUserService).loadUserByUsername(TEST_USERNAME);
-        verify(jwtUtil).validateToken(anyString(), eq(userDetails));
+        verify(jwtUtil).validateToken(claims, userDetails);
+        verify(jwtUtil, never()).extractUserName(anyString());
+        verify(jwtUtil, never()).validateToken(anyString(), any(UserDetails.class));
     }
 
     @Test
@@ -119,14 +135,14 @@ class JwtAuthenticationFilterTest {
     @Test
     void doFilterInternal_whenUserNameIsNullFromToken_shouldNotSetAuthentication() throws ServletException, IOException {
         when(request.getHeader("Authorization")).thenReturn(VALID_JWT);
-        when(jwtUtil.extractUserName(anyString())).thenReturn(null); // UserName no puede ser extraído
+        when(jwtUtil.extractAllClaims(anyString())).thenReturn(Jwts.claims()); // UserName no puede ser extraído
 
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
         assertNull(SecurityContextHolder.getContext().getAuthentication(), "La autenticación debería ser nula");
         verify(filterChain).doFilter(request, response);
         verify(request).getHeader("Authorization");
-        verify(jwtUtil).extractUserName(anyString());
+        verify(jwtUtil).extractAllClaims(anyString());
         verifyNoInteractions(appUserService); // AppUserService no debería ser llamado
     }
 
@@ -135,7 +151,7 @@ class JwtAuthenticationFilterTest {
         SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken("alreadyAuthenticatedUser", null));
 
         when(request.getHeader("Authorization")).thenReturn(VALID_JWT); // Puede haber un token, pero no debería cambiar nada
-        when(jwtUtil.extractUserName(anyString())).thenReturn(TEST_USERNAME); // Estos mocks podrían llamarse, pero la autenticación no cambiará
+        when(jwtUtil.extractAllClaims(anyString())).thenReturn(claims); // Estos mocks podrían llamarse, pero la autenticación no cambiará
 
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
@@ -145,17 +161,17 @@ class JwtAuthenticationFilterTest {
         verify(filterChain).doFilter(request, response);
 
         verify(request).getHeader("Authorization");
-        verify(jwtUtil).extractUserName(anyString()); // extractUserName sí se llama
+        verify(jwtUtil).extractAllClaims(anyString()); // extractAllClaims sí se llama
         verifyNoInteractions(appUserService); // No debería intentar cargar el usuario si ya está autenticado
-        verify(jwtUtil, never()).validateToken(anyString(), any(UserDetails.class)); // No debería validar el token
+        verify(jwtUtil, never()).validateToken(any(Claims.class), any(UserDetails.class)); // No debería validar el token
     }
 
     @Test
     void doFilterInternal_whenTokenIsInvalid_shouldNotSetAuthentication() throws ServletException, IOException {
         when(request.getHeader("Authorization")).thenReturn(VALID_JWT);
-        when(jwtUtil.extractUserName(anyString())).thenReturn(TEST_USERNAME);
+        when(jwtUtil.extractAllClaims(anyString())).thenReturn(claims);
         when(appUserService.loadUserByUsername(TEST_USERNAME)).thenReturn(userDetails);
-        when(jwtUtil.validateToken(anyString(), eq(userDetails))).thenReturn(false); // Token inválido
+        when(jwtUtil.validateToken(claims, userDetails)).thenReturn(false); // Token inválido
 
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
@@ -163,8 +179,68 @@ class JwtAuthenticationFilterTest {
         verify(filterChain).doFilter(request, response);
 
         verify(request).getHeader("Authorization");
-        verify(jwtUtil).extractUserName(anyString());
+        verify(jwtUtil).extractAllClaims(anyString());
         verify(appUserService).loadUserByUsername(TEST_USERNAME);
-        verify(jwtUtil).validateToken(anyString(), eq(userDetails));
+        verify(jwtUtil).validateToken(claims, userDetails);
+    }
+
+    @Test
+    void doFilterInternal_whenStatelessAndTokenHasRoles_shouldAuthenticateWithoutLoadingUser() throws ServletException, IOException {
+        when(jwtProperties.isStateless()).thenReturn(true);
+        when(request.getHeader("Authorization")).thenReturn(VALID_JWT);
+        when(jwtUtil.extractAllClaims(anyString())).thenReturn(claims);
+        when(jwtUtil.hasAuthorities(claims)).thenReturn(true);
+        when(jwtUtil.validateToken(claims)).thenReturn(true);
+        when(jwtUtil.extractAuthorities(claims)).thenReturn(List.of(new SimpleGrantedAuthority("ROLE_ADMIN")));
+
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        assertEquals(TEST_USERNAME, SecurityContextHolder.getContext().getAuthentication().getName());
+        assertEquals("ROLE_ADMIN", SecurityContextHolder.getContext().getAuthentication()
+                .getAuthorities().iterator().next().getAuthority());
+        verify(filterChain).doFilter(request, response);
+        verifyNoInteractions(appUserService, userCache);
+    }
+
+    @Test
+    void doFilterInternal_whenStatelessAndTokenIsExpired_shouldNotSetAuthentication() throws ServletException, IOException {
+        when(jwtProperties.isStateless()).thenReturn(true);
+        when(request.getHeader("Authorization")).thenReturn(VALID_JWT);
+        when(jwtUtil.extractAllClaims(anyString())).thenReturn(claims);
+        when(jwtUtil.hasAuthorities(claims)).thenReturn(true);
+        when(jwtUtil.validateToken(claims)).thenReturn(false);
+
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verifyNoInteractions(appUserService);
+    }
+
+    @Test
+    void doFilterInternal_whenUserIsCached_shouldNotQueryTheUserService() throws ServletException, IOException {
+        when(request.getHeader("Authorization")).thenReturn(VALID_JWT);
+        when(jwtUtil.extractAllClaims(anyString())).thenReturn(claims);
+        when(userCache.getUserFromCache(TEST_USERNAME)).thenReturn(userDetails);
+        when(jwtUtil.validateToken(claims, userDetails)).thenReturn(true);
+
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+        verifyNoInteractions(appUserService);
+    }
+
+    @Test
+    void doFilterInternal_whenTokenVersionIsOutdated_shouldNotSetAuthentication() throws ServletException, IOException {
+        AppUserDetails appUserDetails = new AppUserDetails(TEST_USERNAME, "password", new ArrayList<>(), 2);
+        when(request.getHeader("Authorization")).thenReturn(VALID_JWT);
+        when(jwtUtil.extractAllClaims(anyString())).thenReturn(claims);
+        when(appUserService.loadUserByUsername(TEST_USERNAME)).thenReturn(appUserDetails);
+        when(jwtUtil.validateToken(claims, appUserDetails)).thenReturn(true);
+        when(jwtUtil.extractTokenVersion(claims)).thenReturn(1);
+
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(userCache).putUserInCache(appUserDetails);
     }
 }
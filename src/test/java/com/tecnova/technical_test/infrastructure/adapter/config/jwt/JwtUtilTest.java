@@ -10,15 +10,16 @@ import io.jsonwebtoken.security.SignatureException; // Importa esta excepción
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.test.context.junit.jupiter.SpringJUnitConfig; // Para usar @SpringJUnitConfig
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -29,7 +30,6 @@ class JwtUtilTest {
     @Mock
     private JwtProperties jwtProperties;
 
-    @InjectMocks
     private JwtUtil jwtUtil;
 
     private final String TEST_SECRET_KEY = "thisisatestsecretkeythatisatleast256bitslongforsigningjwt";
@@ -39,6 +39,8 @@ class JwtUtilTest {
     void setUp() {
         when(jwtProperties.getSecretKey()).thenReturn(TEST_SECRET_KEY);
         when(jwtProperties.getExpiration()).thenReturn(TEST_EXPIRATION_MS);
+        when(jwtProperties.getClaimsCacheSize()).thenReturn(100L);
+        jwtUtil = new JwtUtil(jwtProperties);
     }
 
     @Test
@@ -221,8 +223,9 @@ class JwtUtilTest {
                 .compact();
 
         when(jwtProperties.getSecretKey()).thenReturn("aDifferentSecretKeyThatIsAlsoLongEnough");
+        JwtUtil jwtUtilWithOtherKey = new JwtUtil(jwtProperties);
 
-        assertThrows(SignatureException.class, () -> jwtUtil.extractAllClaims(tokenWithCorrectSig),
+        assertThrows(SignatureException.class, () -> jwtUtilWithOtherKey.extractAllClaims(tokenWithCorrectSig),
                 "Debería lanzar SignatureException para un token con firma inválida");
     }
 
@@ -233,4 +236,81 @@ class JwtUtilTest {
         assertThrows(MalformedJwtException.class, () -> jwtUtil.extractAllClaims(malformedToken),
                 "Debería lanzar MalformedJwtException para un token malformado");
     }
+
+    @Test
+    void extractAllClaims_whenTokenIsRepeated_shouldReuseVerifiedClaims() {
+        SecretKey key = Keys.hmacShaKeyFor(TEST_SECRET_KEY.getBytes(StandardCharsets.UTF_8));
+        String token = Jwts.builder().setSubject("cacheduser")
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + TEST_EXPIRATION_MS))
+                .signWith(key, SignatureAlgorithm.HS256)
+                .compact();
+
+        Claims first = jwtUtil.extractAllClaims(token);
+        Claims second = jwtUtil.extractAllClaims(token);
+
+        assertSame(first, second, "El segundo parseo del mismo token debería salir del cache");
+    }
+
+    @Test
+    void extractAllClaims_whenCacheIsDisabled_shouldParseEveryTime() {
+        when(jwtProperties.getClaimsCacheSize()).thenReturn(0L);
+        JwtUtil jwtUtilWithoutCache = new JwtUtil(jwtProperties);
+        SecretKey key = Keys.hmacShaKeyFor(TEST_SECRET_KEY.getBytes(StandardCharsets.UTF_8));
+        String token = Jwts.builder().setSubject("uncacheduser")
+                .setExpiration(new Date(System.currentTimeMillis() + TEST_EXPIRATION_MS))
+                .signWith(key, SignatureAlgorithm.HS256)
+                .compact();
+
+        assertNotSame(jwtUtilWithoutCache.extractAllClaims(token), jwtUtilWithoutCache.extractAllClaims(token));
+    }
+
+    @Test
+    void extractAllClaims_whenTokenIsTampered_shouldNotBeServedFromCache() {
+        SecretKey key = Keys.hmacShaKeyFor(TEST_SECRET_KEY.getBytes(StandardCharsets.UTF_8));
+        String token = Jwts.builder().setSubject("cacheduser")
+                .setExpiration(new Date(System.currentTimeMillis() + TEST_EXPIRATION_MS))
+                .signWith(key, SignatureAlgorithm.HS256)
+                .compact();
+        jwtUtil.extractAllClaims(token);
+
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertThrows(SignatureException.class, () -> jwtUtil.extractAllClaims(tampered));
+    }
+
+    @Test
+    void validateToken_withParsedClaims_shouldNotParseAgain() {
+        Claims claims = Jwts.claims().setSubject("claimsuser");
+        claims.setExpiration(new Date(System.currentTimeMillis() + TEST_EXPIRATION_MS));
+
+        UserDetails userDetails = mock(UserDetails.class);
+        when(userDetails.getUsername()).thenReturn("claimsuser");
+
+        assertTrue(jwtUtil.validateToken(claims, userDetails));
+    }
+
+    @Test
+    void generateToken_shouldEmbedRolesAndTokenVersion() {
+        Authentication authentication = mock(Authentication.class);
+        AppUserDetails userDetails = new AppUserDetails("roleuser", "secret",
+                List.of(new SimpleGrantedAuthority("ROLE_ADMIN")), 3);
+        when(authentication.getPrincipal()).thenReturn(userDetails);
+
+        Claims claims = jwtUtil.extractAllClaims(jwtUtil.generateToken(authentication));
+
+        assertTrue(jwtUtil.hasAuthorities(claims));
+        assertEquals(List.of(new SimpleGrantedAuthority("ROLE_ADMIN")), jwtUtil.extractAuthorities(claims));
+        assertEquals(3, jwtUtil.extractTokenVersion(claims));
+        assertTrue(jwtUtil.validateToken(claims));
+    }
+
+    @Test
+    void extractAuthorities_whenTokenHasNoRoles_shouldReturnEmptyAndDefaultVersion() {
+        Claims claims = Jwts.claims().setSubject("legacyuser");
+
+        assertFalse(jwtUtil.hasAuthorities(claims));
+        assertTrue(jwtUtil.extractAuthorities(claims).isEmpty());
+        assertEquals(0, jwtUtil.extractTokenVersion(claims));
+    }
 }
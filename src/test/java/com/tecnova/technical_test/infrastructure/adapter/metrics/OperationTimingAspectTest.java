@@ -0,0 +1,113 @@
+package com.tecnova.technical_test.infrastructure.adapter.metrics;
+
+import com.tecnova.technical_test.domain.model.dto.TaskDto;
+import com.tecnova.technical_test.domain.port.ITaskPort;
+import com.tecnova.technical_test.infrastructure.adapter.config.JwtProperties;
+import com.tecnova.technical_test.infrastructure.adapter.config.jwt.JwtUtil;
+import com.tecnova.technical_test.infrastructure.adapter.exceptions.TaskException;
+import com.tecnova.technical_test.infrastructure.adapter.exceptions.TaskVersionException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.http.HttpStatus;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class OperationTimingAspectTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final ITaskPort taskPortTarget = mock(ITaskPort.class);
+
+    private ITaskPort taskPort;
+
+    @BeforeEach
+    void setUp() {
+        taskPort = proxy(taskPortTarget);
+    }
+
+    @Test
+    void taskPort_success_shouldRecordTheOperationWithSuccessOutcome() {
+        TaskDto task = new TaskDto();
+        when(taskPortTarget.getTaskDtoById(1L)).thenReturn(task);
+
+        assertSame(task, taskPort.getTaskDtoById(1L));
+
+        assertEquals(1, timer(OperationTimingAspect.TASK_PORT_TIMER, "getTaskDtoById", "success").count());
+    }
+
+    @Test
+    void taskPort_notFound_shouldRecordTheNotFoundOutcomeAndRethrow() {
+        when(taskPortTarget.getTaskVersion(9L)).thenThrow(new TaskException(HttpStatus.NOT_FOUND, "not found"));
+
+        assertThrows(TaskException.class, () -> taskPort.getTaskVersion(9L));
+
+        Timer timer = timer(OperationTimingAspect.TASK_PORT_TIMER, "getTaskVersion", "not_found");
+        assertEquals(1, timer.count());
+        assertEquals("TaskException", timer.getId().getTag("exception"));
+    }
+
+    @Test
+    void taskPort_insideARequest_shouldAddThePersistenceTimeToTheRequestStats() {
+        SqlRequestStats stats = SqlRequestStats.start(10);
+        try {
+            taskPort.getTaskDtoById(1L);
+            taskPort.getTaskDtoById(2L);
+        } finally {
+            SqlRequestStats.clear();
+        }
+
+        assertTrue(stats.getPersistenceNanos() > 0);
+        assertEquals(0, stats.getServiceNanos());
+    }
+
+    @Test
+    void jwt_invalidToken_shouldRecordTheInvalidOutcome() {
+        JwtProperties jwtProperties = new JwtProperties();
+        jwtProperties.setSecretKey("aVerySecretKeyThatIsLongEnoughForSigningJWTs");
+        JwtUtil jwtUtil = proxy(new JwtUtil(jwtProperties));
+
+        assertThrows(JwtException.class, () -> jwtUtil.extractAllClaims("not.a.token"));
+
+        assertEquals(1, timer(OperationTimingAspect.JWT_TIMER, "extractAllClaims", "invalid").count());
+    }
+
+    @Test
+    void falseResult_shouldRecordTheFailureOutcome() {
+        JwtProperties jwtProperties = new JwtProperties();
+        jwtProperties.setSecretKey("aVerySecretKeyThatIsLongEnoughForSigningJWTs");
+        JwtUtil jwtUtil = proxy(new JwtUtil(jwtProperties));
+
+        assertFalse(jwtUtil.validateToken(Jwts.claims()));
+
+        assertEquals(1, timer(OperationTimingAspect.JWT_TIMER, "validateToken", "failure").count());
+    }
+
+    @Test
+    void outcome_shouldMapExceptionsByType() {
+        assertEquals("conflict", OperationTimingAspect.outcome(
+                new TaskVersionException(HttpStatus.PRECONDITION_FAILED, "modified")));
+        assertEquals("error", OperationTimingAspect.outcome(new IllegalStateException()));
+    }
+
+    private Timer timer(String name, String operation, String outcome) {
+        return meterRegistry.get(name).tag("operation", operation).tag("outcome", outcome).timer();
+    }
+
+    private <T> T proxy(T target) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(!(target instanceof ITaskPort));
+        factory.addAspect(new OperationTimingAspect(meterRegistry));
+        return factory.getProxy();
+    }
+}
@@ -0,0 +1,35 @@
+package com.tecnova.technical_test.infrastructure.adapter.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SlowRequestEndpointTest {
+
+    private final SlowRequestRecorder slowRequestRecorder = new SlowRequestRecorder(5, 0);
+    private final SlowRequestEndpoint slowRequestEndpoint = new SlowRequestEndpoint(slowRequestRecorder);
+
+    @Test
+    void slowRequests_shouldReturnTheRecordedRequests() {
+        slowRequestRecorder.record(SlowRequestRecorderTest.slowRequest("/app/task/1"));
+
+        Map<String, Object> slowRequests = slowRequestEndpoint.slowRequests();
+
+        assertEquals(1L, slowRequests.get("recorded"));
+        assertEquals("/app/task/1", ((List<?>) slowRequests.get("requests")).stream()
+                .map(SlowRequest.class::cast).findFirst().orElseThrow().getPath());
+    }
+
+    @Test
+    void clear_shouldEmptyTheRecorder() {
+        slowRequestRecorder.record(SlowRequestRecorderTest.slowRequest("/app/task/1"));
+
+        slowRequestEndpoint.clear();
+
+        assertTrue(slowRequestRecorder.recent().isEmpty());
+    }
+}
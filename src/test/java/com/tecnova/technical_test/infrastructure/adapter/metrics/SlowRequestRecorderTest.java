@@ -0,0 +1,54 @@
+package com.tecnova.technical_test.infrastructure.adapter.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SlowRequestRecorderTest {
+
+    @Test
+    void isSlow_shouldCompareAgainstTheThreshold() {
+        SlowRequestRecorder recorder = new SlowRequestRecorder(2, 500);
+
+        assertFalse(recorder.isSlow(499));
+        assertTrue(recorder.isSlow(500));
+        assertFalse(new SlowRequestRecorder(0, 500).isSlow(1_000));
+    }
+
+    @Test
+    void record_overCapacity_shouldKeepTheLatestRequestsNewestFirst() {
+        SlowRequestRecorder recorder = new SlowRequestRecorder(2, 0);
+
+        recorder.record(slowRequest("/app/task/1"));
+        recorder.record(slowRequest("/app/task/2"));
+        recorder.record(slowRequest("/app/task/3"));
+
+        List<SlowRequest> recent = recorder.recent();
+        assertEquals(2, recent.size());
+        assertEquals("/app/task/3", recent.get(0).getPath());
+        assertEquals("/app/task/2", recent.get(1).getPath());
+        assertEquals(3, recorder.getRecorded());
+    }
+
+    @Test
+    void clear_shouldEmptyTheBuffer() {
+        SlowRequestRecorder recorder = new SlowRequestRecorder(2, 0);
+        recorder.record(slowRequest("/app/task/1"));
+
+        recorder.clear();
+
+        assertTrue(recorder.recent().isEmpty());
+        assertEquals(0, recorder.getRecorded());
+    }
+
+    static SlowRequest slowRequest(String path) {
+        return new SlowRequest(Instant.now(), "GET", path, "/app/task/{id}", 200, "lmontoya", 800.0,
+                Map.of("sql", 700.0), 1, List.of(new SqlStatement("select 1", 700)));
+    }
+}
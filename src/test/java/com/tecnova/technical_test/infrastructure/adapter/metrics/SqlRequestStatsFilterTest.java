@@ -0,0 +1,169 @@
+package com.tecnova.technical_test.infrastructure.adapter.metrics;
+
+import com.tecnova.technical_test.infrastructure.adapter.config.SqlStatsProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(OutputCaptureExtension.class)
+class SqlRequestStatsFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private SqlStatsProperties properties;
+
+    private SlowRequestRecorder slowRequestRecorder;
+
+    private SqlRequestStatsFilter filter;
+
+    private MockHttpServletRequest request;
+
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        properties = new SqlStatsProperties();
+        properties.setLogThresholdStatements(2);
+        properties.setLogThresholdDuration(Duration.ofMillis(100));
+        slowRequestRecorder = new SlowRequestRecorder(10, TimeUnit.MILLISECONDS.toNanos(50));
+        filter = new SqlRequestStatsFilter(properties, meterRegistry, slowRequestRecorder);
+        request = new MockHttpServletRequest("GET", "/app/task/1");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/app/task/{id}");
+        response = new MockHttpServletResponse();
+    }
+
+    @Test
+    void doFilter_shouldReportTheRequestStatementsInHeaderAndMetrics(CapturedOutput output) throws Exception {
+        filter.doFilter(request, response, executing(2, 7));
+
+        assertEquals("db;dur=14;desc=\"2 statements\"", response.getHeader(SqlRequestStatsFilter.SERVER_TIMING_HEADER));
+        assertEquals(2, meterRegistry.get("http.server.sql.statements").tag("uri", "/app/task/{id}")
+                .summary().totalAmount());
+        assertEquals(14, meterRegistry.get("http.server.sql.duration").tag("method", "GET")
+                .timer().totalTime(TimeUnit.MILLISECONDS));
+        assertFalse(output.getOut().contains("executed 2 SQL statements"));
+        assertNull(SqlRequestStats.current());
+        assertTrue(slowRequestRecorder.recent().isEmpty());
+    }
+
+    @Test
+    void doFilter_overTheSlowThreshold_shouldRecordTheRequestWithItsTimings() throws Exception {
+        response.setStatus(200);
+
+        filter.doFilter(request, response, (servletRequest, servletResponse) -> {
+            SqlRequestStats stats = SqlRequestStats.current();
+            stats.record("select * from tareas where id = ?", TimeUnit.MILLISECONDS.toNanos(3));
+            stats.addServiceTime(TimeUnit.MILLISECONDS.toNanos(40));
+            stats.addPersistenceTime(TimeUnit.MILLISECONDS.toNanos(30));
+            stats.setUser("lmontoya");
+            stats.bodyWriteStarted();
+            sleep(60);
+        });
+
+        SlowRequest slowRequest = slowRequestRecorder.recent().get(0);
+        assertEquals("GET", slowRequest.getMethod());
+        assertEquals("/app/task/1", slowRequest.getPath());
+        assertEquals("/app/task/{id}", slowRequest.getUri());
+        assertEquals(200, slowRequest.getStatus());
+        assertEquals("lmontoya", slowRequest.getUser());
+        assertEquals(1, slowRequest.getSqlCount());
+        assertEquals("select * from tareas where id = ?", slowRequest.getSql().get(0).getSql());
+        assertEquals(10.0, slowRequest.getTimingsMillis().get("service"));
+        assertEquals(30.0, slowRequest.getTimingsMillis().get("persistence"));
+        assertEquals(3.0, slowRequest.getTimingsMillis().get("sql"));
+        assertTrue(slowRequest.getTimingsMillis().get("serialization") >= 60);
+        assertTrue(slowRequest.getTotalMillis() >= slowRequest.getTimingsMillis().get("serialization"));
+    }
+
+    @Test
+    void doFilter_withAsyncResponse_shouldCountTheAsyncStatementsWhenTheRequestCompletes() throws Exception {
+        request.setAsyncSupported(true);
+        filter.doFilter(request, response, (servletRequest, servletResponse) -> {
+            SqlRequestStats.current().record("select 1", TimeUnit.MILLISECONDS.toNanos(2));
+            servletRequest.startAsync();
+        });
+        assertTrue(meterRegistry.find("http.server.sql.statements").summaries().isEmpty());
+
+        //Igual que el export NDJSON: el cursor se lee en otro hilo con el interceptor de Spring MVC
+        SqlStatsCallableInterceptor interceptor = new SqlStatsCallableInterceptor();
+        ServletWebRequest webRequest = new ServletWebRequest(request, response);
+        Callable<Object> export = () -> null;
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            SqlRequestStats afterExport = executor.submit(() -> {
+                interceptor.preProcess(webRequest, export);
+                SqlRequestStats.current().record("select * from tareas order by id", TimeUnit.MILLISECONDS.toNanos(5));
+                interceptor.postProcess(webRequest, export, null);
+                return SqlRequestStats.current();
+            }).get();
+            assertNull(afterExport);
+        } finally {
+            executor.shutdown();
+        }
+        request.getAsyncContext().complete();
+
+        assertEquals(2, meterRegistry.get("http.server.sql.statements").tag("uri", "/app/task/{id}")
+                .summary().totalAmount());
+        assertEquals(7, meterRegistry.get("http.server.sql.duration").timer().totalTime(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void doFilter_overTheStatementThreshold_shouldLogTheSql(CapturedOutput output) throws Exception {
+        filter.doFilter(request, response, executing(3, 1));
+
+        assertTrue(output.getOut().contains("GET /app/task/1 executed 3 SQL statements in 3.0 ms"));
+        assertTrue(output.getOut().contains("select 2"));
+    }
+
+    @Test
+    void doFilter_overTheDurationThreshold_shouldLogTheSql(CapturedOutput output) throws Exception {
+        filter.doFilter(request, response, executing(1, 150));
+
+        assertTrue(output.getOut().contains("executed 1 SQL statements in 150.0 ms"));
+    }
+
+    @Test
+    void doFilter_withServerTimingDisabled_shouldOnlyRecordMetrics() throws Exception {
+        properties.setServerTiming(false);
+
+        filter.doFilter(request, response, executing(1, 1));
+
+        assertNull(response.getHeader(SqlRequestStatsFilter.SERVER_TIMING_HEADER));
+        assertEquals(1, meterRegistry.get("http.server.sql.statements").summary().count());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private FilterChain executing(int statements, long millisEach) {
+        return (servletRequest, servletResponse) -> {
+            for (int i = 0; i < statements; i++) {
+                SqlRequestStats.current().record("select " + i, TimeUnit.MILLISECONDS.toNanos(millisEach));
+            }
+        };
+    }
+}
@@ -0,0 +1,57 @@
+package com.tecnova.technical_test.infrastructure.adapter.metrics;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class SqlRequestUserFilterTest {
+
+    private final SqlRequestUserFilter filter = new SqlRequestUserFilter();
+
+    private final MockHttpServletRequest request = new MockHttpServletRequest("PUT", "/app/task/1");
+
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @AfterEach
+    void tearDown() {
+        SqlRequestStats.clear();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void doFilter_withoutBody_shouldRecordTheAuthenticatedUser() throws Exception {
+        SqlRequestStats stats = SqlRequestStats.start(10);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "lmontoya", null, AuthorityUtils.createAuthorityList("ROLE_USER")));
+
+        filter.doFilter(request, response, (servletRequest, servletResponse) -> response.setStatus(412));
+
+        assertEquals("lmontoya", stats.getUser());
+    }
+
+    @Test
+    void doFilter_withAnonymousAuthentication_shouldNotRecordAUser() throws Exception {
+        SqlRequestStats stats = SqlRequestStats.start(10);
+        SecurityContextHolder.getContext().setAuthentication(new AnonymousAuthenticationToken(
+                "key", "anonymousUser", AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS")));
+
+        filter.doFilter(request, response, (servletRequest, servletResponse) -> response.setStatus(204));
+
+        assertNull(stats.getUser());
+    }
+
+    @Test
+    void doFilter_withoutRequestStats_shouldOnlyContinueTheChain() {
+        assertDoesNotThrow(() -> filter.doFilter(request, response,
+                (servletRequest, servletResponse) -> response.setStatus(304)));
+    }
+}
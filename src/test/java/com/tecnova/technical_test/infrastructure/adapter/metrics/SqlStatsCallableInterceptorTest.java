@@ -0,0 +1,44 @@
+package com.tecnova.technical_test.infrastructure.adapter.metrics;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.concurrent.Callable;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class SqlStatsCallableInterceptorTest {
+
+    private final SqlStatsCallableInterceptor interceptor = new SqlStatsCallableInterceptor();
+
+    private final Callable<Object> task = () -> null;
+
+    @AfterEach
+    void tearDown() {
+        SqlRequestStats.clear();
+    }
+
+    @Test
+    void preProcess_shouldBindTheRequestStatsUntilPostProcess() throws Exception {
+        SqlRequestStats stats = new SqlRequestStats(10);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAttribute(SqlRequestStatsFilter.STATS_ATTRIBUTE, stats);
+        ServletWebRequest webRequest = new ServletWebRequest(request);
+
+        interceptor.preProcess(webRequest, task);
+        assertSame(stats, SqlRequestStats.current());
+
+        interceptor.postProcess(webRequest, task, null);
+        assertNull(SqlRequestStats.current());
+    }
+
+    @Test
+    void preProcess_withoutRequestStats_shouldNotBindAnything() throws Exception {
+        interceptor.preProcess(new ServletWebRequest(new MockHttpServletRequest()), task);
+
+        assertNull(SqlRequestStats.current());
+    }
+}
@@ -0,0 +1,117 @@
+package com.tecnova.technical_test.infrastructure.adapter.metrics;
+
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SqlStatsListenerTest {
+
+    private DataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:sql_stats;DB_CLOSE_DELAY=-1");
+        dataSource = ProxyDataSourceBuilder.create(h2).listener(new SqlStatsListener()).build();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        SqlRequestStats.clear();
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+    }
+
+    @Test
+    void afterQuery_withRequestStats_shouldCountEachRoundTrip() throws Exception {
+        SqlRequestStats stats = SqlRequestStats.start(10);
+
+        try (Connection connection = dataSource.getConnection()) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE items (id INT)");
+            }
+            try (PreparedStatement insert = connection.prepareStatement("INSERT INTO items VALUES (?)")) {
+                for (int i = 0; i < 3; i++) {
+                    insert.setInt(1, i);
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+            try (Statement statement = connection.createStatement()) {
+                statement.executeQuery("SELECT COUNT(*) FROM items").close();
+            }
+        }
+
+        assertEquals(3, stats.getCount());
+        assertEquals("INSERT INTO items VALUES (?) [batch 3]", stats.getStatements().get(1).getSql());
+        assertEquals("SELECT COUNT(*) FROM items", stats.getStatements().get(2).getSql());
+    }
+
+    @Test
+    void afterQuery_withSubMillisecondStatements_shouldAddUpANonZeroDuration() throws Exception {
+        SqlRequestStats stats = SqlRequestStats.start(10);
+
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            for (int i = 0; i < 20; i++) {
+                statement.executeQuery("SELECT " + i).close();
+            }
+        }
+
+        assertEquals(20, stats.getCount());
+        assertTrue(stats.getElapsedNanos() > 0);
+        assertTrue(stats.getElapsedMillis() > 0);
+        assertNotEquals("db;dur=0;desc=\"20 statements\"", stats.serverTiming());
+    }
+
+    @Test
+    void record_withSubMillisecondStatements_shouldReportFractionalMilliseconds() {
+        SqlRequestStats stats = new SqlRequestStats(10);
+
+        stats.record("select 1", 300_000);
+        stats.record("select 2", 250_000);
+        stats.record("select 3", 350_000);
+
+        assertEquals(0.9, stats.getElapsedMillis());
+        assertEquals(0.25, stats.getStatements().get(1).getElapsedMillis());
+        assertEquals("db;dur=0.9;desc=\"3 statements\"", stats.serverTiming());
+    }
+
+    @Test
+    void afterQuery_outsideARequest_shouldNotRecord() throws Exception {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.executeQuery("SELECT 1").close();
+        }
+
+        assertNull(SqlRequestStats.current());
+    }
+
+    @Test
+    void record_overTheLimit_shouldKeepCountingButStopStoringSql() {
+        SqlRequestStats stats = new SqlRequestStats(2);
+
+        stats.record("select 1", TimeUnit.MILLISECONDS.toNanos(3));
+        stats.record("select 2", TimeUnit.MILLISECONDS.toNanos(4));
+        stats.record("select 3", TimeUnit.MILLISECONDS.toNanos(5));
+
+        assertEquals(3, stats.getCount());
+        assertEquals(12.0, stats.getElapsedMillis());
+        assertEquals(2, stats.getStatements().size());
+        assertEquals(4.0, stats.getStatements().get(1).getElapsedMillis());
+        assertEquals("db;dur=12;desc=\"3 statements\"", stats.serverTiming());
+    }
+}
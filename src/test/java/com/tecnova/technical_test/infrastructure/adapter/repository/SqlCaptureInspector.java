@@ -0,0 +1,30 @@
+package com.tecnova.technical_test.infrastructure.adapter.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Hibernate instancia la clase por nombre, por eso las sentencias se guardan en una lista estatica
+public class SqlCaptureInspector implements StatementInspector {
+
+    private static final List<String> STATEMENTS = new ArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        synchronized (STATEMENTS) {
+            STATEMENTS.add(sql);
+        }
+        return sql;
+    }
+
+    static List<String> capture(Runnable action) {
+        synchronized (STATEMENTS) {
+            STATEMENTS.clear();
+        }
+        action.run();
+        synchronized (STATEMENTS) {
+            return new ArrayList<>(STATEMENTS);
+        }
+    }
+}
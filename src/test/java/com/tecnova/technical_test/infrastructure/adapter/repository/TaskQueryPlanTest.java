@@ -0,0 +1,195 @@
+package com.tecnova.technical_test.infrastructure.adapter.repository;
+
+import com.tecnova.technical_test.domain.model.TaskFilter;
+import com.tecnova.technical_test.infrastructure.adapter.entity.TaskEntity;
+import com.tecnova.technical_test.infrastructure.adapter.entity.TaskStatusEntity;
+import com.tecnova.technical_test.infrastructure.adapter.entity.UserEntity;
+import com.tecnova.technical_test.infrastructure.adapter.repository.specification.TaskSpecifications;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Sort;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.tecnova.technical_test.infrastructure.adapter.repository.SqlCaptureInspector")
+class TaskQueryPlanTest {
+
+    // En el plan de H2 cada tabla va seguida del indice usado; sin condicion (o tableScan) es un recorrido completo
+    private static final Pattern TABLE_ACCESS = Pattern.compile("\"PUBLIC\"\\.\"(\\w+)\" \"\\w+\"\\s+/\\* ([^*]+?) \\*/");
+
+    @Autowired
+    private ITaskRepository taskRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private TaskEntity task;
+
+    @BeforeEach
+    void setUp() {
+        UserEntity user = UserEntity.builder().name("Plan user").email("plan@test.cl").build();
+        entityManager.persist(user);
+        TaskStatusEntity status = TaskStatusEntity.builder().id(900L).description("Plan status").build();
+        entityManager.persist(status);
+        task = TaskEntity.builder()
+                .title("Plan task")
+                .limitDate(LocalDate.now())
+                .userEntity(user)
+                .taskStatusEntity(status)
+                .build();
+        entityManager.persist(task);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void getTaskPage_byUser_shouldUseTheUserIndex() {
+        List<String> plans = assertNoTableScan(
+                () -> page(TaskFilter.builder().idUser(task.getUserEntity().getId()).build(), null));
+
+        assertTrue(plans.get(0).contains("IDX_TAREAS_USUARIO"), plans.get(0));
+    }
+
+    @Test
+    void getTaskPage_byStatus_shouldUseTheStatusIndex() {
+        List<String> plans = assertNoTableScan(() -> page(TaskFilter.builder().idTaskStatus(900L).build(), null));
+
+        assertTrue(plans.get(0).contains("IDX_TAREAS_ESTADO"), plans.get(0));
+    }
+
+    @Test
+    void getTaskPage_byLimitDateRange_shouldUseTheDateIndex() {
+        List<String> plans = assertNoTableScan(() -> page(TaskFilter.builder()
+                .limitDateFrom(LocalDate.now().minusDays(1))
+                .limitDateTo(LocalDate.now().plusDays(1))
+                .build(), null));
+
+        assertTrue(plans.get(0).contains("IDX_TAREAS_FECHA_LIMITE"), plans.get(0));
+    }
+
+    @Test
+    void getTaskPage_byAllFilters_shouldUseTheUserIndex() {
+        TaskFilter filter = new TaskFilter(task.getUserEntity().getId(), 900L,
+                LocalDate.now().minusDays(1), LocalDate.now().plusDays(1));
+
+        List<String> plans = assertNoTableScan(() -> page(filter, 0L));
+
+        assertTrue(plans.get(0).contains("IDX_TAREAS_USUARIO"), plans.get(0));
+    }
+
+    @Test
+    void getTaskPage_afterCursor_shouldUseThePrimaryKey() {
+        assertNoTableScan(() -> page(new TaskFilter(), task.getId()));
+    }
+
+    @Test
+    void findVersions_byUser_shouldUseTheUserIndex() {
+        List<String> plans = assertNoTableScan(() -> taskRepository.findVersions(
+                TaskSpecifications.pageOf(TaskFilter.builder().idUser(task.getUserEntity().getId()).build(), null),
+                21));
+
+        assertTrue(plans.get(0).contains("IDX_TAREAS_USUARIO"), plans.get(0));
+    }
+
+    @Test
+    void foreignKeys_shouldReuseTheFilterIndexes() throws SQLException {
+        List<String> indexes = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT INDEX_NAME FROM "
+                     + "INFORMATION_SCHEMA.INDEXES WHERE TABLE_NAME = 'TAREAS' AND INDEX_TYPE_NAME <> 'PRIMARY KEY'");
+             ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                indexes.add(resultSet.getString(1));
+            }
+        }
+
+        // Las FK usan los indices del listado, cada columna se mantiene en un solo indice
+        assertEquals(Set.of("IDX_TAREAS_USUARIO", "IDX_TAREAS_ESTADO", "IDX_TAREAS_FECHA_LIMITE"),
+                Set.copyOf(indexes), indexes.toString());
+    }
+
+    @Test
+    void lookupsById_shouldUseThePrimaryKey() {
+        assertNoTableScan(() -> {
+            taskRepository.findWithRelationsById(task.getId());
+            taskRepository.findDtoById(task.getId());
+            taskRepository.findVersionById(task.getId());
+            taskRepository.findAllDtoByIds(List.of(task.getId(), -1L));
+        });
+    }
+
+    @Test
+    void deletesById_shouldUseThePrimaryKey() {
+        assertNoTableScan(() -> {
+            taskRepository.deleteTasksByIds(List.of(-1L, -2L));
+            taskRepository.deleteTaskById(task.getId());
+        });
+    }
+
+    private void page(TaskFilter filter, Long after) {
+        taskRepository.findBy(TaskSpecifications.pageOf(filter, after),
+                query -> query.sortBy(Sort.by(Sort.Direction.ASC, "id")).limit(21).all());
+    }
+
+    private List<String> assertNoTableScan(Runnable action) {
+        List<String> statements = SqlCaptureInspector.capture(action).stream()
+                .filter(sql -> sql.toLowerCase().contains("tareas"))
+                .toList();
+        assertFalse(statements.isEmpty());
+
+        List<String> plans = new ArrayList<>();
+        for (String sql : statements) {
+            String plan = explain(sql);
+            Matcher matcher = TABLE_ACCESS.matcher(plan);
+            int tables = 0;
+            while (matcher.find()) {
+                tables++;
+                String access = matcher.group(2);
+                assertTrue(access.contains(":") && !access.contains("tableScan"),
+                        "Table scan on " + matcher.group(1) + ":\n" + plan);
+            }
+            assertTrue(tables > 0, plan);
+            plans.add(plan);
+        }
+        return plans;
+    }
+
+    // Los parametros se enlazan en null, el plan de H2 se decide al preparar la sentencia
+    private String explain(String sql) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+            ParameterMetaData parameters = statement.getParameterMetaData();
+            for (int i = 1; i <= parameters.getParameterCount(); i++) {
+                statement.setNull(i, parameters.getParameterType(i));
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getString(1);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("EXPLAIN failed for: " + sql, e);
+        }
+    }
+}
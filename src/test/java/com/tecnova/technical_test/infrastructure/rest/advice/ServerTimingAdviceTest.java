@@ -0,0 +1,75 @@
+package com.tecnova.technical_test.infrastructure.rest.advice;
+
+import com.tecnova.technical_test.infrastructure.adapter.config.SqlStatsProperties;
+import com.tecnova.technical_test.infrastructure.adapter.metrics.SlowRequestRecorder;
+import com.tecnova.technical_test.infrastructure.adapter.metrics.SqlRequestStats;
+import com.tecnova.technical_test.infrastructure.adapter.metrics.SqlRequestStatsFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ServerTimingAdviceTest {
+
+    private final SqlStatsProperties properties = new SqlStatsProperties();
+
+    private final ServerTimingAdvice advice = new ServerTimingAdvice(properties);
+
+    @Test
+    void beforeBodyWrite_insideARequest_shouldAddTheHeaderBeforeTheBody() throws Exception {
+        MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+
+        new SqlRequestStatsFilter(properties, new SimpleMeterRegistry(), new SlowRequestRecorder(0, 0))
+                .doFilter(new MockHttpServletRequest(), servletResponse, (request, response) -> {
+                    SqlRequestStats.current().record("select 1", TimeUnit.MILLISECONDS.toNanos(4));
+                    ServletServerHttpResponse serverResponse = new ServletServerHttpResponse(servletResponse);
+                    Object body = advice.beforeBodyWrite("body", null, MediaType.APPLICATION_JSON, null,
+                            new ServletServerHttpRequest(new MockHttpServletRequest()), serverResponse);
+                    assertEquals("body", body);
+                    serverResponse.flush();
+                });
+
+        assertEquals("db;dur=4;desc=\"1 statements\"",
+                servletResponse.getHeader(SqlRequestStatsFilter.SERVER_TIMING_HEADER));
+    }
+
+    @Test
+    void beforeBodyWrite_outsideARequest_shouldLeaveTheResponseUntouched() throws Exception {
+        MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+        ServletServerHttpResponse serverResponse = new ServletServerHttpResponse(servletResponse);
+
+        advice.beforeBodyWrite("body", null, MediaType.APPLICATION_JSON, null,
+                new ServletServerHttpRequest(new MockHttpServletRequest()), serverResponse);
+        serverResponse.flush();
+
+        assertNull(servletResponse.getHeader(SqlRequestStatsFilter.SERVER_TIMING_HEADER));
+    }
+
+    @Test
+    void beforeBodyWrite_withServerTimingDisabled_shouldOnlyMarkTheBodyWrite() throws Exception {
+        properties.setServerTiming(false);
+        MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+        ServletServerHttpResponse serverResponse = new ServletServerHttpResponse(servletResponse);
+        SqlRequestStats[] stats = new SqlRequestStats[1];
+
+        new SqlRequestStatsFilter(properties, new SimpleMeterRegistry(), new SlowRequestRecorder(0, 0))
+                .doFilter(new MockHttpServletRequest(), servletResponse, (request, response) -> {
+                    stats[0] = SqlRequestStats.current();
+                    advice.beforeBodyWrite("body", null, MediaType.APPLICATION_JSON, null,
+                            new ServletServerHttpRequest(new MockHttpServletRequest()), serverResponse);
+                    serverResponse.flush();
+                });
+
+        assertTrue(stats[0].getBodyWriteNanos() > 0);
+        assertNull(servletResponse.getHeader(SqlRequestStatsFilter.SERVER_TIMING_HEADER));
+    }
+}
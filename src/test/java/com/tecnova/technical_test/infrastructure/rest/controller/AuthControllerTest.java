@@ -15,6 +15,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.validation.BindingResult;
 
 import static org.mockito.Mockito.verify;
@@ -38,9 +39,9 @@ class AuthControllerTest {
         String expectedToken = "mocked-jwt-token";
 
         when(bindingResult.hasErrors()).thenReturn(false);
-        when(authService.authenticate("user", "password")).thenReturn(expectedToken);
+        when(authService.authenticate("user", "password", "127.0.0.1")).thenReturn(expectedToken);
 
-        ResponseEntity<?> response = authController.login(loginUserDto, bindingResult);
+        ResponseEntity<?> response = authController.login(loginUserDto, bindingResult, new MockHttpServletRequest());
 
         Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
         Assertions.assertEquals(expectedToken, ((TokenResponse) response.getBody()).getToken());
@@ -52,7 +53,7 @@ class AuthControllerTest {
         BadLoginResponse badLoginResponse = new BadLoginResponse("Check your credentials");
         when(bindingResult.hasErrors()).thenReturn(true);
 
-        ResponseEntity<?> response = authController.login(loginUserDto, bindingResult);
+        ResponseEntity<?> response = authController.login(loginUserDto, bindingResult, new MockHttpServletRequest());
 
         Assertions.assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
         Assertions.assertEquals(badLoginResponse, response.getBody());
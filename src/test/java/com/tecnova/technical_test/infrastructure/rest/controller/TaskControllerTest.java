@@ -1,22 +1,47 @@
 package com.tecnova.technical_test.infrastructure.rest.controller;
 
 import com.tecnova.technical_test.application.usecase.ITaskService;
+import com.tecnova.technical_test.domain.model.TaskFilter;
+import com.tecnova.technical_test.domain.model.TaskVersion;
 import com.tecnova.technical_test.domain.model.dto.TaskDto;
 import com.tecnova.technical_test.domain.model.dto.request.TaskCreationRequest;
 import com.tecnova.technical_test.domain.model.dto.request.TaskUpdateRequest;
+import com.tecnova.technical_test.domain.model.dto.response.TaskBatchResponse;
+import com.tecnova.technical_test.domain.model.dto.response.TaskDeleteResponse;
+import com.tecnova.technical_test.domain.model.dto.response.TaskMultiGetResponse;
+import com.tecnova.technical_test.domain.model.dto.response.TaskPageResponse;
+import com.tecnova.technical_test.infrastructure.adapter.cache.TaskResponseCache;
+import com.tecnova.technical_test.infrastructure.adapter.config.TaskCacheProperties;
+import com.tecnova.technical_test.infrastructure.adapter.exceptions.TaskVersionException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Consumer;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -26,6 +51,14 @@ public class TaskControllerTest {
     @Mock
     private ITaskService taskService;
 
+    @Spy
+    private ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+
+    @Spy
+    private TaskResponseCache taskResponseCache = new TaskResponseCache(new TaskCacheProperties(),
+            new SimpleMeterRegistry());
+
     @InjectMocks
     private TaskController taskController;
 
@@ -46,17 +79,73 @@ public class TaskControllerTest {
                 1L,
                 "jlopez",
                 1L,
-                "2"
+                "2",
+                3L
         );
 
         Mockito.when(taskService.getTaskById(taskId)).thenReturn(taskDto);
 
-        ResponseEntity<TaskDto> response = taskController.getByIdTask(taskId);
+        ResponseEntity<byte[]> response = taskController.getByIdTask(taskId, null);
         Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
-        Assertions.assertEquals(taskDto, response.getBody());
+        Assertions.assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        Assertions.assertEquals("\"1-3\"", response.getHeaders().getETag());
+        TaskDto body = readTask(response.getBody());
+        Assertions.assertEquals(taskDto.getId(), body.getId());
+        Assertions.assertEquals(taskDto.getTitle(), body.getTitle());
+        Assertions.assertEquals(limitDate, body.getLimitDate());
         verify(taskService, times(1)).getTaskById(taskId);
     }
 
+    @Test
+    void getByIdTask_whenCalledTwice_ShouldReuseTheSerializedBody() throws IOException {
+        TaskDto taskDto = new TaskDto(5L, "Task Example", "Task Description", LocalDate.of(2023, 5, 15),
+                1L, "jlopez", 1L, "2", null);
+        when(taskService.getTaskById(5L)).thenReturn(taskDto);
+
+        byte[] first = taskController.getByIdTask(5L, null).getBody();
+        byte[] second = taskController.getByIdTask(5L, null).getBody();
+
+        Assertions.assertSame(first, second);
+        verify(taskService, times(1)).getTaskById(5L);
+        verify(objectMapper, times(1)).writeValueAsBytes(taskDto);
+    }
+
+    @Test
+    void getByIdTask_whenETagMatches_ShouldReturnNotModifiedWithoutLoadingTheTask() {
+        when(taskService.getTaskVersion(1L)).thenReturn(3L);
+
+        ResponseEntity<byte[]> response = taskController.getByIdTask(1L, "\"0-0\", W/\"1-3\"");
+
+        Assertions.assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        Assertions.assertEquals("\"1-3\"", response.getHeaders().getETag());
+        Assertions.assertNull(response.getBody());
+        verify(taskService, never()).getTaskById(any());
+    }
+
+    @Test
+    void getByIdTask_whenETagIsStale_ShouldReturnTheTask() {
+        TaskDto taskDto = new TaskDto(1L, "Task Example", "Task Description", LocalDate.of(2023, 5, 15),
+                1L, "jlopez", 1L, "2", 4L);
+        when(taskService.getTaskVersion(1L)).thenReturn(4L);
+        when(taskService.getTaskById(1L)).thenReturn(taskDto);
+
+        ResponseEntity<byte[]> response = taskController.getByIdTask(1L, "\"1-3\"");
+
+        Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
+        Assertions.assertEquals("\"1-4\"", response.getHeaders().getETag());
+    }
+
+    @Test
+    void getTasksByIds_ShouldReturnTheServiceResponse() {
+        TaskMultiGetResponse multiGetResponse = new TaskMultiGetResponse(List.of(), List.of(4L));
+        when(taskService.getTasksByIds(List.of(4L))).thenReturn(multiGetResponse);
+
+        ResponseEntity<TaskMultiGetResponse> response = taskController.getTasksByIds(List.of(4L));
+
+        Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
+        Assertions.assertEquals(multiGetResponse, response.getBody());
+    }
+
     @Test
     void getAllTask_ShouldReturnListOfTask() {
         LocalDate limitDate = LocalDate.of(2023, 5, 15);
@@ -69,7 +158,7 @@ public class TaskControllerTest {
                         1L,
                         "jlopez",
                         1L,
-                        "2"),
+                        "2", null),
                 new TaskDto(2L,
                         "Task Example",
                         "Task Description",
@@ -77,7 +166,7 @@ public class TaskControllerTest {
                         1L,
                         "jlopez",
                         1L,
-                        "2")
+                        "2", null)
         );
 
         when(taskService.getAllTask()).thenReturn(task);
@@ -87,6 +176,96 @@ public class TaskControllerTest {
         Assertions.assertEquals(task, response.getBody());
     }
 
+    @Test
+    void getTaskPage_ShouldBuildFilterAndReturnPage() {
+        LocalDate from = LocalDate.of(2025, 7, 1);
+        LocalDate to = LocalDate.of(2025, 7, 31);
+        TaskPageResponse page = TaskPageResponse.builder()
+                .items(List.of())
+                .limit(10)
+                .nextCursor(null)
+                .hasNext(false)
+                .build();
+
+        when(taskService.getTaskPage(any(TaskFilter.class), eq(5L), eq(10))).thenReturn(page);
+
+        ResponseEntity<TaskPageResponse> response = taskController.getTaskPage(10, 5L, 1L, 2L, from, to, null);
+
+        Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
+        Assertions.assertEquals(page, response.getBody());
+        Assertions.assertNotNull(response.getHeaders().getETag());
+
+        ArgumentCaptor<TaskFilter> filterCaptor = ArgumentCaptor.forClass(TaskFilter.class);
+        verify(taskService).getTaskPage(filterCaptor.capture(), eq(5L), eq(10));
+        Assertions.assertEquals(1L, filterCaptor.getValue().getIdUser());
+        Assertions.assertEquals(2L, filterCaptor.getValue().getIdTaskStatus());
+        Assertions.assertEquals(from, filterCaptor.getValue().getLimitDateFrom());
+        Assertions.assertEquals(to, filterCaptor.getValue().getLimitDateTo());
+    }
+
+    @Test
+    void getTaskPage_whenETagMatches_ShouldReturnNotModifiedWithoutLoadingThePage() {
+        TaskPageResponse page = TaskPageResponse.builder()
+                .items(List.of(new TaskDto(1L, "Task", null, null, 1L, "jlopez", 1L, "2", 0L),
+                        new TaskDto(2L, "Task", null, null, 1L, "jlopez", 1L, "2", 5L)))
+                .limit(2)
+                .nextCursor(2L)
+                .hasNext(true)
+                .build();
+        when(taskService.getTaskPage(any(TaskFilter.class), eq(null), eq(2))).thenReturn(page);
+        String eTag = taskController.getTaskPage(2, null, null, null, null, null, null).getHeaders().getETag();
+
+        when(taskService.getTaskPageVersions(any(TaskFilter.class), eq(null), eq(2)))
+                .thenReturn(List.of(new TaskVersion(1L, 0L), new TaskVersion(2L, 5L), new TaskVersion(3L, 0L)));
+        ResponseEntity<TaskPageResponse> response = taskController.getTaskPage(2, null, null, null, null, null, eTag);
+
+        Assertions.assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        Assertions.assertEquals(eTag, response.getHeaders().getETag());
+        verify(taskService, times(1)).getTaskPage(any(TaskFilter.class), eq(null), eq(2));
+    }
+
+    @Test
+    void getTaskPage_whenAVersionChanged_ShouldReturnThePage() {
+        TaskPageResponse page = TaskPageResponse.builder()
+                .items(List.of(new TaskDto(1L, "Task", null, null, 1L, "jlopez", 1L, "2", 0L)))
+                .limit(20)
+                .hasNext(false)
+                .build();
+        when(taskService.getTaskPage(any(TaskFilter.class), eq(null), eq(null))).thenReturn(page);
+        String eTag = taskController.getTaskPage(null, null, null, null, null, null, null).getHeaders().getETag();
+
+        when(taskService.getTaskPageVersions(any(TaskFilter.class), eq(null), eq(null)))
+                .thenReturn(List.of(new TaskVersion(1L, 1L)));
+        ResponseEntity<TaskPageResponse> response = taskController.getTaskPage(null, null, null, null, null, null, eTag);
+
+        Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
+        Assertions.assertEquals(page, response.getBody());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void exportTasks_ShouldWriteOneJsonObjectPerLine() throws IOException {
+        LocalDate limitDate = LocalDate.of(2025, 7, 15);
+
+        doAnswer(invocation -> {
+            Consumer<TaskDto> consumer = invocation.getArgument(0);
+            consumer.accept(new TaskDto(1L, "Task One", "Description", limitDate, 1L, "jlopez", 1L, "Pendiente", null));
+            consumer.accept(new TaskDto(2L, "Task Two", "Description", limitDate, 2L, "mperez", 2L, "En progreso", null));
+            return null;
+        }).when(taskService).exportTasks(any());
+
+        ResponseEntity<StreamingResponseBody> response = taskController.exportTasks();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        response.getBody().writeTo(outputStream);
+
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
+        Assertions.assertEquals("application/x-ndjson", response.getHeaders().getContentType().toString());
+        Assertions.assertEquals(2, lines.length);
+        Assertions.assertTrue(lines[0].startsWith("{\"id\":1,"));
+        Assertions.assertTrue(lines[1].contains("\"limitDate\":\"2025-07-15\""));
+    }
+
     @Test
     void createTask_ShouldReturnCreatedTask() {
         LocalDate limitDate = LocalDate.of(2023, 5, 15);
@@ -104,7 +283,7 @@ public class TaskControllerTest {
                 1L,
                 "jlopez",
                 1L,
-                "2");
+                "2", null);
 
         when(taskService.createTask(creationTaskRequest)).thenReturn(taskDto);
 
@@ -113,6 +292,22 @@ public class TaskControllerTest {
         Assertions.assertEquals(taskDto, response.getBody());
     }
 
+    @Test
+    void createTasks_ShouldReturnBatchResult() {
+        List<TaskCreationRequest> requests = List.of(new TaskCreationRequest("Task Example",
+                "Task Description",
+                LocalDate.of(2023, 5, 15),
+                1,
+                1));
+        TaskBatchResponse batchResponse = TaskBatchResponse.builder().created(1).rejected(0).items(List.of()).build();
+
+        when(taskService.createTasks(requests)).thenReturn(batchResponse);
+
+        ResponseEntity<TaskBatchResponse> response = taskController.createTasks(requests);
+        Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
+        Assertions.assertEquals(batchResponse, response.getBody());
+    }
+
     @Test
     void editTask_ShouldReturnUpdatedUser() {
         Long taskId = 1L;
@@ -131,13 +326,37 @@ public class TaskControllerTest {
                 1L,
                 "jlopez",
                 1L,
-                "2");
+                "2", 1L);
 
-        when(taskService.updateTask(request, taskId)).thenReturn(taskDto);
+        when(taskService.updateTask(request, taskId, null)).thenReturn(taskDto);
 
-        ResponseEntity<TaskDto> response = taskController.editTask(request, taskId);
+        ResponseEntity<TaskDto> response = taskController.editTask(request, taskId, null);
         Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
         Assertions.assertEquals(taskDto, response.getBody());
+        Assertions.assertEquals("\"1-1\"", response.getHeaders().getETag());
+    }
+
+    @Test
+    void editTask_withIfMatch_ShouldSendTheExpectedVersion() {
+        TaskUpdateRequest request = new TaskUpdateRequest();
+        TaskDto taskDto = new TaskDto(7L, "Task Example", null, null, 1L, "jlopez", 1L, "2", 4L);
+        when(taskService.updateTask(request, 7L, 3L)).thenReturn(taskDto);
+
+        ResponseEntity<TaskDto> response = taskController.editTask(request, 7L, "\"7-3\"");
+
+        Assertions.assertEquals("\"7-4\"", response.getHeaders().getETag());
+        verify(taskService).updateTask(request, 7L, 3L);
+    }
+
+    @Test
+    void editTask_withIfMatchOfAnotherTask_ShouldThrowPreconditionFailed() {
+        TaskUpdateRequest request = new TaskUpdateRequest();
+
+        TaskVersionException exception = Assertions.assertThrows(TaskVersionException.class,
+                () -> taskController.editTask(request, 7L, "W/\"7-3\", \"8-3\""));
+
+        Assertions.assertEquals(HttpStatus.PRECONDITION_FAILED, exception.getErrorCode());
+        verify(taskService, never()).updateTask(any(), any(), any());
     }
 
     @Test
@@ -150,4 +369,23 @@ public class TaskControllerTest {
         verify(taskService, times(1)).deleteTaskById(taskId);
     }
 
+    @Test
+    void deleteTasks_ShouldReturnDeletedCount() {
+        TaskDeleteResponse deleteResponse = new TaskDeleteResponse(3, 2);
+        when(taskService.deleteTasksByIds(List.of(1L, 2L, 3L))).thenReturn(deleteResponse);
+
+        ResponseEntity<TaskDeleteResponse> response = taskController.deleteTasks(List.of(1L, 2L, 3L));
+
+        Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
+        Assertions.assertEquals(deleteResponse, response.getBody());
+    }
+
+
+    private TaskDto readTask(byte[] body) {
+        try {
+            return objectMapper.readValue(body, TaskDto.class);
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
 }
@@ -0,0 +1,104 @@
+package com.tecnova.technical_test.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tecnova.technical_test.TechnicalTestApplication;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.http.HttpRequest;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// mvn test -Pload-test -Dtest=H2PersistenceLoadTest -Dload.writes=2000 -Dload.writeConcurrency=16
+@Tag("load")
+class H2PersistenceLoadTest {
+
+    private static final int WRITES = Integer.getInteger("load.writes", 2000);
+    private static final int CONCURRENCY = Integer.getInteger("load.writeConcurrency", 16);
+    private static final int WARMUP = Integer.getInteger("load.warmup", 200);
+    private static final Path RESULT_FILE = Path.of("target", "load-test", "h2-persistence.json");
+
+    private static final String NEW_TASK = "{\"title\":\"Load\",\"description\":\"Load test\","
+            + "\"limitDate\":\"2030-01-01\",\"idUser\":1,\"idTaskStatus\":1}";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void compareInMemoryAgainstFileBackedH2(@TempDir Path dataDir) throws Exception {
+        //El primer arranque de la JVM paga la carga de clases, se descarta para no favorecer al segundo modo
+        start(memoryProperties("load_h2_warmup")).close();
+
+        Map<String, Object> results = new LinkedHashMap<>();
+        results.put("writes", WRITES);
+        results.put("concurrency", CONCURRENCY);
+        results.put("memory", runMode(memoryProperties("load_h2_memory")));
+
+        List<String> fileProperties = List.of("spring.profiles.active=prod",
+                "task.db.path=" + dataDir.resolve("gestion_tareas_db").toAbsolutePath());
+        Map<String, Object> file = runMode(fileProperties);
+        results.put("file", file);
+        // Reinicio sobre el archivo con las tareas ya escritas: es el caso real de un despliegue en produccion
+        Map<String, Object> restart = runMode(fileProperties);
+        assertEquals((long) file.get("tasksAtStartup") + WARMUP + WRITES, restart.get("tasksAtStartup"),
+                "File mode should keep the data");
+        results.put("fileRestart", restart);
+
+        Files.createDirectories(RESULT_FILE.getParent());
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(RESULT_FILE.toFile(), results);
+        System.out.println(objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(results));
+    }
+
+    private Map<String, Object> runMode(List<String> properties) throws Exception {
+        long start = System.nanoTime();
+        try (ConfigurableApplicationContext context = start(properties)) {
+            Map<String, Object> mode = new LinkedHashMap<>();
+            mode.put("coldStartMillis", (System.nanoTime() - start) / 1_000_000);
+
+            LoadTestClient client = new LoadTestClient(((WebServerApplicationContext) context).getWebServer().getPort());
+            String token = client.registerAndLogin();
+            mode.put("tasksAtStartup", countTasks(client, token));
+
+            HttpRequest createTask = client.request("/app/task")
+                    .header("Authorization", "Bearer " + token)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(NEW_TASK))
+                    .build();
+
+            client.run(createTask, WARMUP, CONCURRENCY);
+            mode.put("POST /app/task", client.run(createTask, WRITES, CONCURRENCY));
+            return mode;
+        }
+    }
+
+    private long countTasks(LoadTestClient client, String token) throws Exception {
+        HttpRequest getTasks = client.request("/app/task")
+                .header("Authorization", "Bearer " + token)
+                .GET().build();
+        return (long) objectMapper.readTree(client.send(getTasks).body()).size();
+    }
+
+    private ConfigurableApplicationContext start(List<String> properties) {
+        //Como argumentos de linea de comandos, asi tienen prioridad sobre application.properties
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.jpa.show-sql=false",
+                "--spring.h2.console.enabled=false",
+                "--spring.devtools.restart.enabled=false"));
+        properties.forEach(property -> args.add("--" + property));
+        return new SpringApplicationBuilder(TechnicalTestApplication.class).run(args.toArray(String[]::new));
+    }
+
+    private List<String> memoryProperties(String name) {
+        return List.of("spring.datasource.url=jdbc:h2:mem:" + name);
+    }
+}
@@ -0,0 +1,117 @@
+package com.tecnova.technical_test.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Cliente HTTP compartido por los load tests: registro/login y ejecucion concurrente con percentiles
+class LoadTestClient {
+
+    private static final String USER_NAME = "loadtest";
+    private static final String PASSWORD = "loadtest123";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final String baseUrl;
+
+    LoadTestClient(int port) {
+        this.baseUrl = "http://localhost:" + port;
+    }
+
+    HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path));
+    }
+
+    HttpRequest login() {
+        return request("/app/auth/login")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(credentials()))
+                .build();
+    }
+
+    //Si el usuario ya existe (BD persistente) el registro falla y se continua con el login
+    String registerAndLogin() throws IOException, InterruptedException {
+        HttpRequest register = request("/app/auth/register")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"userName\":\"" + USER_NAME + "\",\"password\":\"" + PASSWORD + "\",\"role\":\"user\"}"))
+                .build();
+        httpClient.send(register, HttpResponse.BodyHandlers.discarding());
+
+        HttpResponse<String> response = httpClient.send(login(), HttpResponse.BodyHandlers.ofString());
+        JsonNode body = objectMapper.readTree(response.body());
+        assertTrue(body.hasNonNull("token"), "Login should return a token");
+        return body.get("token").asText();
+    }
+
+    HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    Map<String, Object> run(HttpRequest request, int total, int concurrency) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        AtomicInteger errors = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Callable<Long>> calls = new ArrayList<>(total);
+        for (int i = 0; i < total; i++) {
+            calls.add(() -> {
+                long start = System.nanoTime();
+                HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                //503 es el rechazo esperado del pool de BCrypt cuando su cola esta llena, no un error
+                if (response.statusCode() == 503) {
+                    rejected.incrementAndGet();
+                } else if (response.statusCode() / 100 != 2) {
+                    errors.incrementAndGet();
+                }
+                return System.nanoTime() - start;
+            });
+        }
+
+        long start = System.nanoTime();
+        List<Future<Long>> futures = executor.invokeAll(calls);
+        long elapsed = System.nanoTime() - start;
+        executor.shutdown();
+
+        long[] latencies = new long[total];
+        for (int i = 0; i < total; i++) {
+            latencies[i] = futures.get(i).get();
+        }
+        Arrays.sort(latencies);
+        assertEquals(0, errors.get(), "All load test requests should succeed");
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("throughputPerSecond", Math.round(total / (elapsed / 1_000_000_000.0)));
+        stats.put("p50Millis", percentile(latencies, 0.50));
+        stats.put("p99Millis", percentile(latencies, 0.99));
+        stats.put("maxMillis", latencies[total - 1] / 1_000_000.0);
+        stats.put("rejected", rejected.get());
+        return stats;
+    }
+
+    private String credentials() {
+        return "{\"userName\":\"" + USER_NAME + "\",\"password\":\"" + PASSWORD + "\"}";
+    }
+
+    private double percentile(long[] sortedLatencies, double percentile) {
+        int index = (int) Math.ceil(percentile * sortedLatencies.length) - 1;
+        return sortedLatencies[Math.max(index, 0)] / 1_000_000.0;
+    }
+}
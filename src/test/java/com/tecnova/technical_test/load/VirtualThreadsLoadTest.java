@@ -0,0 +1,111 @@
+package com.tecnova.technical_test.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tecnova.technical_test.TechnicalTestApplication;
+import jakarta.servlet.Filter;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+
+import java.net.http.HttpRequest;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// mvn test -Pload-test -Dload.requests=4000 -Dload.concurrency=256 (agregar -Pjava21 para medir hilos virtuales)
+@Tag("load")
+class VirtualThreadsLoadTest {
+
+    private static final int REQUESTS = Integer.getInteger("load.requests", 4000);
+    private static final int LOGIN_REQUESTS = Integer.getInteger("load.loginRequests", 400);
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 256);
+    private static final int WARMUP = Integer.getInteger("load.warmup", 200);
+    private static final Path RESULT_FILE = Path.of("target", "load-test", "virtual-threads.json");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void compareTomcatPoolAgainstVirtualThreads() throws Exception {
+        Map<String, Object> results = new LinkedHashMap<>();
+        results.put("javaVersion", Runtime.version().toString());
+        results.put("requests", REQUESTS);
+        results.put("loginRequests", LOGIN_REQUESTS);
+        results.put("concurrency", CONCURRENCY);
+        results.put("platform", runMode(false));
+
+        //Spring Boot ignora spring.threads.virtual.enabled en versiones anteriores a Java 21
+        if (Runtime.version().feature() >= 21) {
+            results.put("virtual", runMode(true));
+        } else {
+            results.put("virtual", "skipped: requires Java 21 (mvn test -Pload-test -Pjava21)");
+        }
+
+        Files.createDirectories(RESULT_FILE.getParent());
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(RESULT_FILE.toFile(), results);
+        System.out.println(objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(results));
+    }
+
+    private Map<String, Object> runMode(boolean virtualThreads) throws Exception {
+        //Como argumentos de linea de comandos, asi tienen prioridad sobre application.properties
+        try (ConfigurableApplicationContext context =
+                     new SpringApplicationBuilder(TechnicalTestApplication.class, HandlerThreadProbe.class)
+                .run(
+                        "--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--spring.datasource.url=jdbc:h2:mem:load_" + (virtualThreads ? "virtual" : "platform"),
+                        "--spring.jpa.show-sql=false",
+                        "--spring.h2.console.enabled=false",
+                        //Se mide el throughput de BCrypt, no el limite de intentos de login
+                        "--login-rate-limit.enabled=false",
+                        "--spring.devtools.restart.enabled=false")) {
+            LoadTestClient client = new LoadTestClient(((WebServerApplicationContext) context).getWebServer().getPort());
+            String token = client.registerAndLogin();
+
+            HttpRequest getTasks = client.request("/app/task")
+                    .header("Authorization", "Bearer " + token)
+                    .GET().build();
+            HttpRequest login = client.login();
+
+            client.run(getTasks, WARMUP, CONCURRENCY);
+            client.run(login, Math.min(WARMUP, LOGIN_REQUESTS), CONCURRENCY);
+            assertEquals(virtualThreads, HandlerThreadProbe.handledOnVirtualThread.get(),
+                    "The requests should be handled on " + (virtualThreads ? "virtual" : "platform") + " threads");
+
+            Map<String, Object> mode = new LinkedHashMap<>();
+            mode.put("GET /app/task", client.run(getTasks, REQUESTS, CONCURRENCY));
+            mode.put("POST /app/auth/login", client.run(login, LOGIN_REQUESTS, CONCURRENCY));
+            return mode;
+        }
+    }
+
+    //Registra si la ultima peticion se atendio en un hilo virtual, asi se verifica que el modo realmente cambio
+    static class HandlerThreadProbe {
+
+        static final AtomicBoolean handledOnVirtualThread = new AtomicBoolean();
+
+        @Bean
+        FilterRegistrationBean<Filter> handlerThreadProbeFilter() {
+            return new FilterRegistrationBean<>((request, response, chain) -> {
+                handledOnVirtualThread.set(isVirtual(Thread.currentThread()));
+                chain.doFilter(request, response);
+            });
+        }
+
+        //Thread.isVirtual() existe desde Java 21 y el proyecto compila con Java 17
+        private static boolean isVirtual(Thread thread) {
+            try {
+                return (boolean) Thread.class.getMethod("isVirtual").invoke(thread);
+            } catch (ReflectiveOperationException e) {
+                return false;
+            }
+        }
+    }
+}